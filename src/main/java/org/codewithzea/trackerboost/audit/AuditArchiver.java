@@ -0,0 +1,309 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves monthly audit buckets older than {@code app.audit.archive.after} (counted from the
+ * end of the month) to {@code app.audit.archive.dir}, then deletes the archived entries
+ * and drops the collection once it is empty.
+ * <p>
+ * A segment {@code <bucket>.ndjson.gz} holds the entries in {@code (timestamp, _id)} order
+ * as concatenated gzip members of {@code app.audit.archive.block-size} lines each. The
+ * sparse index {@code <bucket>.idx} has one line per member, first timestamp and byte
+ * offset, so {@link #read} decompresses only from the block containing {@code from}.
+ * A month that is archived again (entries written after its first archive run) gets an
+ * extra segment {@code <bucket>.1.ndjson.gz}, and so on; existing segments are never replaced.
+ */
+@Slf4j
+@Component
+public class AuditArchiver {
+
+    static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private final MongoTemplate mongoTemplate;
+    private final AuditBuckets auditBuckets;
+    private final ObjectMapper objectMapper;
+    private final Path archiveDir;
+    private final Duration archiveAfter;
+    private final int blockSize;
+
+    public AuditArchiver(MongoTemplate mongoTemplate,
+                         AuditBuckets auditBuckets,
+                         ObjectMapper objectMapper,
+                         @Value("${app.audit.archive.dir:audit-archive}") Path archiveDir,
+                         @Value("${app.audit.archive.after:P31D}") Duration archiveAfter,
+                         @Value("${app.audit.hot-ttl:P90D}") Duration hotTtl,
+                         @Value("${app.audit.archive.block-size:1000}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("app.audit.archive.block-size must be positive");
+        }
+        // A bucket is archived archive.after past the end of its month, when its first entries
+        // are up to a month older than that; the TTL index must not delete them before then
+        if (hotTtl.compareTo(archiveAfter.plusDays(31)) <= 0) {
+            throw new IllegalArgumentException("app.audit.hot-ttl (" + hotTtl + ") must be longer than "
+                    + "app.audit.archive.after (" + archiveAfter + ") plus one month");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.auditBuckets = auditBuckets;
+        this.objectMapper = objectMapper;
+        this.archiveDir = archiveDir;
+        this.archiveAfter = archiveAfter;
+        this.blockSize = blockSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.archive.interval:PT6H}",
+            initialDelayString = "${app.audit.archive.interval:PT6H}")
+    public synchronized void archiveExpiredBuckets() {
+        Instant cutoff = Instant.now().minus(archiveAfter);
+        for (String bucket : auditBuckets.buckets()) {
+            Instant monthEnd = AuditBuckets.monthOf(bucket).plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            if (monthEnd.isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                archive(bucket);
+            } catch (IOException | RuntimeException e) {
+                log.error("Archiving audit bucket {} failed; it stays in Mongo", bucket, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the bucket to a new segment and index, then deletes exactly the entries written.
+     * Entries inserted meanwhile (a replayed spill file can still land in an old month) stay
+     * in the collection for the next run; it is dropped only when nothing is left. A missing
+     * bucket is forgotten and an empty one dropped without a segment.
+     */
+    public synchronized void archive(String bucket) throws IOException {
+        if (!mongoTemplate.collectionExists(bucket)) {
+            auditBuckets.forget(bucket);
+            return;
+        }
+        if (mongoTemplate.count(new Query(), bucket) == 0) {
+            mongoTemplate.dropCollection(bucket);
+            auditBuckets.forget(bucket);
+            log.info("Dropped empty audit bucket {}", bucket);
+            return;
+        }
+        Files.createDirectories(archiveDir);
+        String name = bucket;
+        for (int n = 1; Files.exists(archiveDir.resolve(name + SEGMENT_SUFFIX)); n++) {
+            name = bucket + "." + n;
+        }
+        Path segment = archiveDir.resolve(name + SEGMENT_SUFFIX);
+        Path index = archiveDir.resolve(name + INDEX_SUFFIX);
+        Path segmentTmp = archiveDir.resolve(name + SEGMENT_SUFFIX + ".tmp");
+        Path indexTmp = archiveDir.resolve(name + INDEX_SUFFIX + ".tmp");
+
+        Query all = new Query().with(Sort.by(Sort.Direction.ASC, "timestamp", "id"));
+        List<String> ids = new ArrayList<>();
+        try (CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(segmentTmp)));
+             BufferedWriter indexWriter = Files.newBufferedWriter(indexTmp, StandardCharsets.UTF_8);
+             Stream<AuditLog> logs = mongoTemplate.stream(all, AuditLog.class, bucket)) {
+            GZIPOutputStream block = null;
+            for (AuditLog entry : (Iterable<AuditLog>) logs::iterator) {
+                if (ids.size() % blockSize == 0) {
+                    if (block != null) {
+                        block.close();
+                    }
+                    indexWriter.write(entry.getTimestamp() + "\t" + out.count);
+                    indexWriter.newLine();
+                    block = new GZIPOutputStream(out.block());
+                }
+                block.write(objectMapper.writeValueAsBytes(entry));
+                block.write('\n');
+                ids.add(entry.getId());
+            }
+            if (block != null) {
+                block.close();
+            }
+        }
+
+        // Index first, so a visible segment always has its index; an index without one is a leftover
+        Files.move(indexTmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(segmentTmp, segment, StandardCopyOption.ATOMIC_MOVE);
+        for (int from = 0; from < ids.size(); from += blockSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + blockSize, ids.size()));
+            mongoTemplate.remove(new Query(Criteria.where("id").in(chunk)), AuditLog.class, bucket);
+        }
+        log.info("Archived {} audit entries from {} to {}", ids.size(), bucket, segment);
+
+        long left = mongoTemplate.count(new Query(), bucket);
+        if (left > 0) {
+            log.warn("Audit bucket {} got {} entries while archiving; they go to the next segment", bucket, left);
+            return;
+        }
+        mongoTemplate.dropCollection(bucket);
+        auditBuckets.forget(bucket);
+    }
+
+    /**
+     * Archived entries of one month with {@code from <= timestamp < to}, oldest first, at most {@code limit}.
+     */
+    public List<AuditLog> read(YearMonth month, Instant from, Instant to, int limit) throws IOException {
+        List<String> segments = segments(AuditBuckets.collectionFor(month));
+        List<AuditLog> found = new ArrayList<>();
+        for (String segment : segments) {
+            found.addAll(readSegment(segment, from, to, entry -> true, limit));
+        }
+        if (segments.size() <= 1) {
+            return found;
+        }
+        // Each segment is sorted on its own; merge them into one (timestamp, _id) order
+        found.sort(Comparator.comparing(AuditLog::getTimestamp).thenComparing(AuditLog::getId));
+        return new ArrayList<>(found.subList(0, Math.min(limit, found.size())));
+    }
+
+    /**
+     * Archived entries of one entity with a version at or below {@code maxVersion}, in no
+     * particular order. Months are scanned newest first and the scan stops after the first
+     * month holding a snapshot, which is as far back as a reconstruction needs to go.
+     */
+    public List<AuditLog> history(String entityType, String entityId, long maxVersion) throws IOException {
+        Predicate<AuditLog> wanted = entry -> entityType.equals(entry.getEntityType())
+                && entityId.equals(entry.getEntityId())
+                && entry.getVersion() != null && entry.getVersion() <= maxVersion;
+        List<AuditLog> found = new ArrayList<>();
+        for (YearMonth month : archivedMonths()) {
+            boolean snapshot = false;
+            for (String segment : segments(AuditBuckets.collectionFor(month))) {
+                for (AuditLog entry : readSegment(segment, null, null, wanted, Integer.MAX_VALUE)) {
+                    found.add(entry);
+                    snapshot |= entry.getSnapshot() != null;
+                }
+            }
+            if (snapshot) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    // Newest first
+    private List<YearMonth> archivedMonths() throws IOException {
+        if (!Files.isDirectory(archiveDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> AuditBuckets.monthOf(name.substring(0, name.indexOf('.'))))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        }
+    }
+
+    // Segment names of one bucket in the order they were written
+    private List<String> segments(String bucket) {
+        List<String> segments = new ArrayList<>();
+        for (String name = bucket; Files.exists(archiveDir.resolve(name + SEGMENT_SUFFIX));
+             name = bucket + "." + segments.size()) {
+            segments.add(name);
+        }
+        return segments;
+    }
+
+    private List<AuditLog> readSegment(String name, Instant from, Instant to, Predicate<AuditLog> filter, int limit)
+            throws IOException {
+        Path segment = archiveDir.resolve(name + SEGMENT_SUFFIX);
+        Path index = archiveDir.resolve(name + INDEX_SUFFIX);
+
+        // Start at the last block that begins before 'from'; equal timestamps may straddle blocks
+        long offset = 0;
+        if (from != null) {
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (!Instant.parse(line.substring(0, tab)).isBefore(from)) {
+                    break;
+                }
+                offset = Long.parseLong(line.substring(tab + 1));
+            }
+        }
+
+        List<AuditLog> found = new ArrayList<>();
+        FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ).position(offset);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Channels.newInputStream(channel)), StandardCharsets.UTF_8))) {
+            String line;
+            while (found.size() < limit && (line = reader.readLine()) != null) {
+                AuditLog entry = objectMapper.readValue(line, AuditLog.class);
+                if (to != null && !entry.getTimestamp().isBefore(to)) {
+                    break;
+                }
+                if ((from == null || !entry.getTimestamp().isBefore(from)) && filter.test(entry)) {
+                    found.add(entry);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        // View for one gzip member: closing it ends the member, not the segment file
+        OutputStream block() {
+            return new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    CountingOutputStream.this.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    CountingOutputStream.this.write(b, off, len);
+                }
+            };
+        }
+    }
+}
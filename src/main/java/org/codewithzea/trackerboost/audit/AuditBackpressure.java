@@ -0,0 +1,13 @@
+package org.codewithzea.trackerboost.audit;
+
+/**
+ * What {@link AuditLogWriter} does with a new entry while its buffer is full.
+ */
+public enum AuditBackpressure {
+    // Caller waits until the drainer frees a slot
+    BLOCK,
+    // Oldest queued entry is discarded and counted as dropped
+    DROP_OLDEST,
+    // Entry is appended to a file and inserted once the buffer has drained
+    SPILL
+}
@@ -0,0 +1,153 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monthly audit collections ({@code audit_logs_2030_01}, ...). Months are UTC. A bucket
+ * gets the indexes declared on {@link AuditLog} plus a TTL index on {@code timestamp}
+ * ({@code app.audit.hot-ttl}) the first time it is written to. The old single
+ * {@code audit_logs} collection is still read, as the oldest bucket, until it is dropped.
+ */
+@Slf4j
+@Component
+public class AuditBuckets {
+
+    static final String LEGACY_COLLECTION = "audit_logs";
+    static final String PREFIX = "audit_logs_";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration hotTtl;
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+    private volatile boolean legacyPresent;
+
+    public AuditBuckets(MongoTemplate mongoTemplate,
+                        @Value("${app.audit.hot-ttl:P90D}") Duration hotTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.hotTtl = hotTtl;
+    }
+
+    public static String collectionFor(Instant timestamp) {
+        return collectionFor(YearMonth.from(timestamp.atOffset(ZoneOffset.UTC)));
+    }
+
+    public static String collectionFor(YearMonth month) {
+        return PREFIX + month.format(MONTH);
+    }
+
+    /**
+     * Month of a bucket collection, or null for any other collection name.
+     */
+    public static YearMonth monthOf(String collection) {
+        if (!collection.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(collection.substring(PREFIX.length()), MONTH);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Existing buckets that can hold entries in {@code [from, to]}, newest first; either
+     * bound may be null. The legacy collection, if any, comes last.
+     */
+    public List<String> overlapping(Instant from, Instant to) {
+        YearMonth first = from != null ? YearMonth.from(from.atOffset(ZoneOffset.UTC)) : null;
+        YearMonth last = to != null ? YearMonth.from(to.atOffset(ZoneOffset.UTC)) : null;
+        List<String> buckets = new ArrayList<>();
+        for (String collection : buckets()) {
+            YearMonth month = monthOf(collection);
+            if ((first == null || !month.isBefore(first)) && (last == null || !month.isAfter(last))) {
+                buckets.add(collection);
+            }
+        }
+        if (legacyPresent) {
+            buckets.add(LEGACY_COLLECTION);
+        }
+        return buckets;
+    }
+
+    /**
+     * All monthly buckets, newest first.
+     */
+    public List<String> buckets() {
+        load();
+        List<String> buckets = new ArrayList<>(known);
+        buckets.sort(Comparator.comparing(AuditBuckets::monthOf).reversed());
+        return buckets;
+    }
+
+    /**
+     * Creates the bucket's indexes before its first insert.
+     */
+    public void ensure(String collection) {
+        load();
+        if (known.contains(collection)) {
+            return;
+        }
+        synchronized (this) {
+            if (known.contains(collection)) {
+                return;
+            }
+            IndexOperations indexes = mongoTemplate.indexOps(collection);
+            var resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+            for (IndexDefinition definition : resolver.resolveIndexFor(TypeInformation.of(AuditLog.class))) {
+                indexes.createIndex(definition);
+            }
+            indexes.createIndex(new Index().on("timestamp", Sort.Direction.ASC)
+                    .named("timestamp_ttl")
+                    .expire(hotTtl));
+            known.add(collection);
+            log.info("Created audit bucket {}", collection);
+        }
+    }
+
+    public void forget(String collection) {
+        known.remove(collection);
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (String name : mongoTemplate.getCollectionNames()) {
+                if (monthOf(name) != null) {
+                    known.add(name);
+                }
+            }
+            // auto-index-creation keeps an empty legacy collection around; skip it unless it holds data
+            legacyPresent = mongoTemplate.collectionExists(LEGACY_COLLECTION)
+                    && mongoTemplate.estimatedCount(LEGACY_COLLECTION) > 0;
+            loaded = true;
+        }
+    }
+}
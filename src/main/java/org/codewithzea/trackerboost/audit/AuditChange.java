@@ -0,0 +1,8 @@
+package org.codewithzea.trackerboost.audit;
+
+
+/**
+ * Before and after state of one entity, for {@link AuditLogService#logChanges}.
+ */
+public record AuditChange(String entityId, Object before, Object after) {
+}
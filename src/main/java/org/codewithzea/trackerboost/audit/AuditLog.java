@@ -1,9 +1,13 @@
 package org.codewithzea.trackerboost.audit;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.*;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -11,6 +15,14 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Document(collection = "audit_logs")
+// Every filter is followed by the (timestamp, _id) keyset order of the paged API
+@CompoundIndexes({
+        @CompoundIndex(name = "timestamp_id", def = "{'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "entityType_timestamp", def = "{'entityType': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "actorName_timestamp", def = "{'actorName': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "entityId_timestamp", def = "{'entityId': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "entity_version", def = "{'entityType': 1, 'entityId': 1, 'version': -1}")
+})
 public class AuditLog {
 
     @Id
@@ -24,6 +36,11 @@ public class AuditLog {
     private String ipAddress;
     private String status;
     private String payload;      // JSON snapshot of the entity
+
+    // Diff-based updates (see AuditLogService.logChange)
+    private Long version;                          // per entity, assigned by AuditVersioner
+    private List<Map<String, Object>> changes;     // RFC 6902 patch from the previous version
+    private Map<String, Object> snapshot;          // full state, kept every app.audit.snapshot-every versions
 }
 
 
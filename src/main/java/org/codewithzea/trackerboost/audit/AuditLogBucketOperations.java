@@ -0,0 +1,34 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * {@link AuditLogRepository} operations routed to the monthly {@link AuditBuckets}
+ * instead of one {@code audit_logs} collection.
+ */
+public interface AuditLogBucketOperations {
+
+    // Each entry goes to the bucket of its timestamp, one insertMany per bucket
+    <S extends AuditLog> List<S> insert(Iterable<S> entities);
+
+    /**
+     * Like {@link #insert}, but unordered and skipping entries whose {@code _id} is already
+     * stored, so a batch that was partly written before it failed can be sent again.
+     */
+    void insertIgnoringDuplicates(List<? extends AuditLog> entities);
+
+    /**
+     * Runs {@code query} (sorted newest first) against the buckets overlapping
+     * {@code [from, to]}, newest bucket first, and stops once {@code limit} entries are found.
+     */
+    List<AuditLog> findNewest(Query query, Instant from, Instant to, int limit);
+
+    /**
+     * Runs {@code query} against every bucket; results keep bucket order, newest first.
+     */
+    List<AuditLog> findInAllBuckets(Query query);
+}
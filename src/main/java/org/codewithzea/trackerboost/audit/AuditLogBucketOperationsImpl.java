@@ -0,0 +1,87 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import com.mongodb.ErrorCategory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class AuditLogBucketOperationsImpl implements AuditLogBucketOperations {
+
+    private final MongoTemplate mongoTemplate;
+    private final AuditBuckets auditBuckets;
+
+    @Override
+    public <S extends AuditLog> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        byBucket(entities).forEach((collection, logs) -> {
+            auditBuckets.ensure(collection);
+            inserted.addAll(mongoTemplate.insert(logs, collection));
+        });
+        return inserted;
+    }
+
+    @Override
+    public void insertIgnoringDuplicates(List<? extends AuditLog> entities) {
+        byBucket(entities).forEach((collection, logs) -> {
+            auditBuckets.ensure(collection);
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AuditLog.class, collection)
+                        .insert(logs)
+                        .execute();
+            } catch (BulkOperationException e) {
+                if (e.getErrors().stream().anyMatch(error -> error.getCategory() != ErrorCategory.DUPLICATE_KEY)) {
+                    throw e;
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<AuditLog> findNewest(Query query, Instant from, Instant to, int limit) {
+        List<AuditLog> found = new ArrayList<>(limit);
+        for (String collection : auditBuckets.overlapping(from, to)) {
+            int remaining = limit - found.size();
+            if (remaining <= 0) {
+                break;
+            }
+            Query bucketQuery = Query.of(query).limit(remaining).cursorBatchSize(remaining);
+            try (Stream<AuditLog> logs = mongoTemplate.stream(bucketQuery, AuditLog.class, collection)) {
+                logs.forEach(found::add);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<AuditLog> findInAllBuckets(Query query) {
+        List<AuditLog> found = new ArrayList<>();
+        for (String collection : auditBuckets.overlapping(null, null)) {
+            found.addAll(mongoTemplate.find(query, AuditLog.class, collection));
+        }
+        return found;
+    }
+
+    // Each entry goes to the bucket of its timestamp
+    private static <S extends AuditLog> Map<String, List<S>> byBucket(Iterable<S> entities) {
+        Map<String, List<S>> byBucket = new LinkedHashMap<>();
+        for (S entity : entities) {
+            if (entity.getTimestamp() == null) {
+                entity.setTimestamp(Instant.now());
+            }
+            byBucket.computeIfAbsent(AuditBuckets.collectionFor(entity.getTimestamp()), key -> new ArrayList<>())
+                    .add(entity);
+        }
+        return byBucket;
+    }
+}
@@ -1,10 +1,14 @@
 package org.codewithzea.trackerboost.audit;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -12,14 +16,42 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AuditLogController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final AuditLogService auditLogService;
 
+    // Pass the previous page's nextCursor to continue; filters must stay the same
     @GetMapping
-    public ResponseEntity<List<AuditLogDTO>> getLogs(@RequestParam(required = false) String entityType,
-                                                     @RequestParam(required = false) String actorName) {
-        return ResponseEntity.ok(auditLogService.getLogs(entityType, actorName));
+    public ResponseEntity<AuditLogPage> getLogs(@RequestParam(required = false) String entityType,
+                                                @RequestParam(required = false) String entityId,
+                                                @RequestParam(required = false) String actorName,
+                                                @RequestParam(required = false) String actionType,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        AuditLogQuery filter = new AuditLogQuery(entityType, entityId, actorName, actionType, from, to);
+        return ResponseEntity.ok(auditLogService.getLogPage(filter, cursor, size));
     }
-}
-
 
+    @GetMapping("/archive/{month}")
+    public ResponseEntity<List<AuditLogDTO>> getArchivedLogs(@PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                             @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(auditLogService.getArchivedLogs(month, from, to, size));
+    }
 
+    @GetMapping("/{entityType}/{entityId}/versions/{version}")
+    public ResponseEntity<JsonNode> getVersion(@PathVariable String entityType,
+                                               @PathVariable String entityId,
+                                               @PathVariable long version) {
+        return ResponseEntity.ok(auditLogService.reconstruct(entityType, entityId, version));
+    }
+}
@@ -0,0 +1,36 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last entry of an audit page, ordered by {@code (timestamp, _id)}
+ * descending. Sent to clients as an opaque URL-safe string.
+ */
+public record AuditLogCursor(Instant timestamp, String id) {
+
+    public static AuditLogCursor after(AuditLogDTO last) {
+        return new AuditLogCursor(last.timestamp(), last.id());
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AuditLogCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 1 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed audit log cursor");
+            }
+            return new AuditLogCursor(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed audit log cursor", e);
+        }
+    }
+}
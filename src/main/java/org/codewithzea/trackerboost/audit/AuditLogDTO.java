@@ -3,6 +3,8 @@ package org.codewithzea.trackerboost.audit;
 
 import lombok.Builder;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 @Builder
 public record AuditLogDTO(
@@ -12,14 +14,16 @@ public record AuditLogDTO(
         String entityId,
         Instant timestamp,
         String actorName,
-        String payload
+        String payload,
+        Long version,
+        List<Map<String, Object>> changes
 ) {
     public static class AuditLogDTOBuilder {
         public AuditLogDTO build() {
             if (this.timestamp == null) {
                 this.timestamp = Instant.now();
             }
-            return new AuditLogDTO(id, actionType, entityType, entityId, timestamp, actorName, payload);
+            return new AuditLogDTO(id, actionType, entityType, entityId, timestamp, actorName, payload, version, changes);
         }
     }
 }
@@ -0,0 +1,11 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import java.util.List;
+
+/**
+ * Audit entries recorded by {@link AuditLogService}; handed to {@link AuditLogWriter}
+ * only once the publishing transaction has committed.
+ */
+public record AuditLogEvent(List<AuditLog> entries) {
+}
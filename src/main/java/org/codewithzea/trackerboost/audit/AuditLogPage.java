@@ -0,0 +1,10 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import java.util.List;
+
+/**
+ * One keyset page of audit entries, newest first. {@code nextCursor} is null on the last page.
+ */
+public record AuditLogPage(List<AuditLogDTO> content, int size, String nextCursor) {
+}
@@ -0,0 +1,18 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import java.time.Instant;
+
+/**
+ * Filters for {@link AuditLogService#getLogPage}; null fields are not applied.
+ * {@code from} is inclusive and {@code to} exclusive.
+ */
+public record AuditLogQuery(
+        String entityType,
+        String entityId,
+        String actorName,
+        String actionType,
+        Instant from,
+        Instant to
+) {
+}
@@ -4,16 +4,10 @@ package org.codewithzea.trackerboost.audit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
+// Inserts and reads go through AuditLogBucketOperations and span the monthly buckets;
+// the inherited CRUD methods still address the legacy audit_logs collection
 @Repository
-public interface AuditLogRepository extends MongoRepository<AuditLog, String> {
-
-    List<AuditLog> findByEntityType(String entityType);
-
-    List<AuditLog> findByActorName(String actorName);
-
-    List<AuditLog> findByEntityTypeAndActorName(String entityType, String actorName);
+public interface AuditLogRepository extends MongoRepository<AuditLog, String>, AuditLogBucketOperations {
 }
 
 
@@ -1,17 +1,44 @@
 package org.codewithzea.trackerboost.audit;
 
+import org.codewithzea.trackerboost.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
+/**
+ * Records audit entries as {@link AuditLogEvent}s. Inside a transaction they reach
+ * {@link AuditLogWriter} after commit, so rolled-back writes leave no audit trail and
+ * the transaction never waits on Mongo.
+ */
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
 
+    private static final TypeReference<List<Map<String, Object>>> PATCH_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Map<String, Object>> SNAPSHOT_TYPE = new TypeReference<>() {};
+
     private final AuditLogRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final AuditArchiver auditArchiver;
 
     public void log(String actionType, String entityType, String entityId, String payloadJson) {
         log(actionType, entityType, entityId, "SYSTEM", payloadJson);
@@ -28,42 +55,204 @@ public class AuditLogService {
                 .timestamp(Instant.now())
                 .build();
 
-        auditLogRepository.save(log);
+        eventPublisher.publishEvent(new AuditLogEvent(List.of(log)));
+    }
+
+    /**
+     * Update audit carrying an RFC 6902 patch from {@code before} to {@code after} instead of
+     * the whole entity. The after-state rides along as a snapshot candidate; the writer keeps
+     * it only on snapshot versions, which {@link #reconstruct} starts from.
+     */
+    public void logChange(String entityType, String entityId, Object before, Object after) {
+        eventPublisher.publishEvent(new AuditLogEvent(List.of(
+                changeEntry(entityType, "SYSTEM", new AuditChange(entityId, before, after), Instant.now()))));
+    }
+
+    // One event for the whole batch, like logAll, but every entry carries a patch and takes a version
+    public void logChanges(String entityType, String actorName, List<AuditChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<AuditLog> logs = new ArrayList<>(changes.size());
+        for (AuditChange change : changes) {
+            logs.add(changeEntry(entityType, actorName != null ? actorName : "SYSTEM", change, now));
+        }
+        eventPublisher.publishEvent(new AuditLogEvent(logs));
+    }
+
+    private AuditLog changeEntry(String entityType, String actorName, AuditChange change, Instant timestamp) {
+        JsonNode afterTree = objectMapper.valueToTree(change.after());
+        ArrayNode patch = JsonPatch.diff(objectMapper.valueToTree(change.before()), afterTree);
+        return AuditLog.builder()
+                .actionType("UPDATE")
+                .entityType(entityType)
+                .entityId(change.entityId())
+                .actorName(actorName)
+                .changes(objectMapper.convertValue(patch, PATCH_TYPE))
+                .snapshot(objectMapper.convertValue(afterTree, SNAPSHOT_TYPE))
+                .timestamp(timestamp)
+                .build();
     }
 
+    /**
+     * State of an entity after the given audit version: the nearest snapshot at or before
+     * it, with the later patches applied in order. When that snapshot has already been
+     * archived, the snapshot and the patches after it come from {@link AuditArchiver}.
+     */
+    public JsonNode reconstruct(String entityType, String entityId, long version) {
+        Criteria entity = Criteria.where("entityType").is(entityType).and("entityId").is(entityId);
+        Query snapshotQuery = new Query(new Criteria().andOperator(entity,
+                Criteria.where("version").lte(version), Criteria.where("snapshot").ne(null)))
+                .with(Sort.by(Sort.Direction.DESC, "version"))
+                .limit(1);
+        AuditLog base = auditLogRepository.findInAllBuckets(snapshotQuery).stream()
+                .max(Comparator.comparing(AuditLog::getVersion))
+                .orElse(null);
+        List<AuditLog> archived = List.of();
+        if (base == null) {
+            archived = archivedHistory(entityType, entityId, version);
+            base = archived.stream()
+                    .filter(log -> log.getSnapshot() != null)
+                    .max(Comparator.comparing(AuditLog::getVersion))
+                    .orElse(null);
+        }
+        if (base == null) {
+            throw new ResourceNotFoundException("No audit snapshot for " + entityType + " " + entityId
+                    + " at or before version " + version);
+        }
+
+        Query patchQuery = new Query(new Criteria().andOperator(entity,
+                Criteria.where("version").gt(base.getVersion()).lte(version)))
+                .with(Sort.by(Sort.Direction.ASC, "version"));
+        patchQuery.fields().include("version", "changes");
+        // Keyed by version: an entry archived but not yet dropped from Mongo counts once
+        TreeMap<Long, AuditLog> changes = new TreeMap<>();
+        for (AuditLog log : archived) {
+            if (log.getVersion() > base.getVersion()) {
+                changes.put(log.getVersion(), log);
+            }
+        }
+        auditLogRepository.findInAllBuckets(patchQuery).forEach(log -> changes.putIfAbsent(log.getVersion(), log));
+
+        JsonNode state = objectMapper.valueToTree(base.getSnapshot());
+        long expected = base.getVersion() + 1;
+        for (AuditLog change : changes.values()) {
+            if (change.getVersion() != expected) {
+                throw new IllegalStateException("Audit version " + expected + " of " + entityType + " "
+                        + entityId + " is missing");
+            }
+            state = JsonPatch.apply(state, objectMapper.valueToTree(change.getChanges()));
+            expected++;
+        }
+        if (expected <= version) {
+            throw new ResourceNotFoundException("No audit version " + version + " for " + entityType + " " + entityId);
+        }
+        return state;
+    }
 
-    public List<AuditLog> getLogsByEntityType(String entityType) {
-        return auditLogRepository.findByEntityType(entityType);
+    private List<AuditLog> archivedHistory(String entityType, String entityId, long version) {
+        try {
+            return auditArchiver.history(entityType, entityId, version);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit archive for " + entityType + " " + entityId, e);
+        }
     }
 
-    public List<AuditLog> getLogsByActorName(String actorName) {
-        return auditLogRepository.findByActorName(actorName);
+    // One event so the writer inserts them in the same insertMany; payloadsByEntityId keeps the caller's order
+    public void logAll(String actionType, String entityType, String actorName, Map<String, String> payloadsByEntityId) {
+        if (payloadsByEntityId.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<AuditLog> logs = new ArrayList<>(payloadsByEntityId.size());
+        payloadsByEntityId.forEach((entityId, payloadJson) -> logs.add(AuditLog.builder()
+                .actionType(actionType)
+                .entityType(entityType)
+                .entityId(entityId)
+                .actorName(actorName != null ? actorName : "SYSTEM")
+                .payload(payloadJson)
+                .timestamp(now)
+                .build()));
+
+        eventPublisher.publishEvent(new AuditLogEvent(logs));
     }
 
-    public List<AuditLogDTO> getLogs(String entityType, String actorName) {
-        List<AuditLog> logs;
 
-        if (entityType != null && actorName != null) {
-            logs = auditLogRepository.findByEntityTypeAndActorName(entityType, actorName);
-        } else if (entityType != null) {
-            logs = auditLogRepository.findByEntityType(entityType);
-        } else if (actorName != null) {
-            logs = auditLogRepository.findByActorName(actorName);
-        } else {
-            logs = auditLogRepository.findAll();
+    /**
+     * Newest entries first, {@code size} at a time. Each page continues strictly after
+     * {@code cursor} on {@code (timestamp, _id)}, so deep pages cost the same as the first.
+     */
+    public AuditLogPage getLogPage(AuditLogQuery filter, String cursor, int size) {
+        Criteria criteria = new Criteria();
+        if (filter.entityType() != null) {
+            criteria.and("entityType").is(filter.entityType());
+        }
+        if (filter.entityId() != null) {
+            criteria.and("entityId").is(filter.entityId());
+        }
+        if (filter.actorName() != null) {
+            criteria.and("actorName").is(filter.actorName());
+        }
+        if (filter.actionType() != null) {
+            criteria.and("actionType").is(filter.actionType());
+        }
+        if (filter.from() != null || filter.to() != null) {
+            Criteria range = criteria.and("timestamp");
+            if (filter.from() != null) {
+                range.gte(filter.from());
+            }
+            if (filter.to() != null) {
+                range.lt(filter.to());
+            }
+        }
+        Instant newest = filter.to();
+        if (cursor != null) {
+            AuditLogCursor after = AuditLogCursor.decode(cursor);
+            if (newest == null || after.timestamp().isBefore(newest)) {
+                newest = after.timestamp();
+            }
+            criteria.orOperator(
+                    Criteria.where("timestamp").lt(after.timestamp()),
+                    new Criteria().andOperator(
+                            Criteria.where("timestamp").is(after.timestamp()),
+                            Criteria.where("id").lt(after.id())));
         }
 
-        return logs.stream().map(this::toDTO).collect(Collectors.toList());
+        // One extra row tells whether another page exists; only buckets between from and
+        // the cursor (or to) are read, newest month first
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+        List<AuditLogDTO> content = auditLogRepository.findNewest(query, filter.from(), newest, size + 1).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toCollection(() -> new ArrayList<>(size + 1)));
+        String nextCursor = null;
+        if (content.size() > size) {
+            content.remove(size);
+            nextCursor = AuditLogCursor.after(content.get(size - 1)).encode();
+        }
+        return new AuditLogPage(content, size, nextCursor);
+    }
+
+    // Entries of a month that AuditArchiver already moved out of Mongo, oldest first
+    public List<AuditLogDTO> getArchivedLogs(YearMonth month, Instant from, Instant to, int limit) {
+        try {
+            return auditArchiver.read(month, from, to, limit).stream().map(this::toDTO).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit archive for " + month, e);
+        }
     }
 
     private AuditLogDTO toDTO(AuditLog log) {
         return AuditLogDTO.builder()
+                .id(log.getId())
                 .actionType(log.getActionType())
                 .entityType(log.getEntityType())
                 .entityId(log.getEntityId())
                 .timestamp(log.getTimestamp())
                 .actorName(log.getActorName())
                 .payload(log.getPayload())
+                .version(log.getVersion())
+                .changes(log.getChanges())
                 .build();
     }
 }
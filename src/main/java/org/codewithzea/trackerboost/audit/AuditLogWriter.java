@@ -0,0 +1,374 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit entries to Mongo off the caller's thread. Entries go into a lock-free
+ * {@link AuditRingBuffer}; one drainer thread inserts them with {@code insertMany}
+ * whenever {@code app.audit.writer.batch-size} entries are waiting or
+ * {@code app.audit.writer.flush-interval} has passed. A full buffer is handled according
+ * to {@code app.audit.writer.backpressure}; spilled entries are written as JSON lines
+ * under {@code app.audit.writer.spill-dir} and replayed at the start of each flush.
+ * Entries get their {@code _id} on submit, so replaying a batch that was partly written
+ * skips the entries already stored instead of inserting them twice.
+ * <p>
+ * Entries reach Mongo in submit order, which {@link AuditVersioner} relies on: a failed
+ * batch goes to the replay file, which is older than anything spilled, an overflow spills
+ * the queued entries ahead of the new one, and while either file is pending the drainer
+ * appends queued entries behind them instead of inserting. Callers only touch the disk
+ * when the buffer is full.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    static final String SPILL_FILE = "audit-spill.ndjson";
+    static final String REPLAY_FILE = "audit-spill.replaying";
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditVersioner auditVersioner;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditBackpressure backpressure;
+    private final Path spillDir;
+
+    private final Timer flushTimer;
+    private final Counter droppedOnOverflow;
+    private final Counter droppedOnFailure;
+    private final Counter spilled;
+
+    private final Object spillLock = new Object();
+    private volatile boolean spilling;
+    private volatile boolean running;
+    private volatile Thread drainer;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          AuditVersioner auditVersioner,
+                          ObjectMapper objectMapper,
+                          MeterRegistry registry,
+                          @Value("${app.audit.writer.capacity:8192}") int capacity,
+                          @Value("${app.audit.writer.batch-size:500}") int batchSize,
+                          @Value("${app.audit.writer.flush-interval:PT0.2S}") Duration flushInterval,
+                          @Value("${app.audit.writer.backpressure:SPILL}") AuditBackpressure backpressure,
+                          @Value("${app.audit.writer.spill-dir:${java.io.tmpdir}/trackerboost-audit}") Path spillDir) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.audit.writer.batch-size must be positive");
+        }
+        this.auditLogRepository = auditLogRepository;
+        this.auditVersioner = auditVersioner;
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.backpressure = backpressure;
+        this.spillDir = spillDir;
+        // Leftovers from the last run are older than anything submitted from now on
+        this.spilling = Files.exists(spillDir.resolve(SPILL_FILE)) || Files.exists(spillDir.resolve(REPLAY_FILE));
+
+        Tags tags = Tags.of("application", "project-tracker");
+        Gauge.builder("audit.writer.queue.depth", buffer, AuditRingBuffer::size)
+                .tags(tags)
+                .description("Audit entries waiting to be written")
+                .register(registry);
+        this.flushTimer = Timer.builder("audit.writer.flush")
+                .tags(tags)
+                .description("Time spent inserting one batch of audit entries")
+                .register(registry);
+        this.droppedOnOverflow = Counter.builder("audit.writer.dropped")
+                .tags(tags.and("reason", "overflow"))
+                .register(registry);
+        this.droppedOnFailure = Counter.builder("audit.writer.dropped")
+                .tags(tags.and("reason", "failed"))
+                .register(registry);
+        this.spilled = Counter.builder("audit.writer.spilled")
+                .tags(tags)
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "audit-log-writer");
+        thread.setDaemon(true);
+        drainer = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = drainer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        flush();
+    }
+
+    public void submit(AuditLog entry) {
+        // Fixed before the first attempt, so a batch replayed after a partial insert is recognised
+        if (entry.getId() == null) {
+            entry.setId(ObjectId.get().toHexString());
+        }
+        if (!buffer.offer(entry)) {
+            onFull(entry);
+        }
+        if (buffer.size() >= batchSize) {
+            wakeDrainer();
+        }
+    }
+
+    public void submitAll(List<AuditLog> entries) {
+        entries.forEach(this::submit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuditLogged(AuditLogEvent event) {
+        submitAll(event.entries());
+    }
+
+    /**
+     * Replays spilled entries, then inserts everything queued so far. While older entries
+     * wait on disk, queued ones are appended behind them instead of inserted.
+     */
+    public synchronized void flush() {
+        replaySpill();
+        // Bounded so busy producers cannot keep one flush going forever
+        for (int polled = 0; polled < buffer.capacity(); ) {
+            List<AuditLog> batch = new ArrayList<>(batchSize);
+            boolean deferred;
+            // Polled under the lock an overflow spills under, so neither can overtake the other
+            synchronized (spillLock) {
+                deferred = spilling;
+                for (AuditLog entry; batch.size() < batchSize && (entry = buffer.poll()) != null; ) {
+                    batch.add(entry);
+                }
+                if (deferred && !batch.isEmpty()) {
+                    spill(SPILL_FILE, batch);
+                }
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            polled += batch.size();
+            if (!deferred) {
+                insert(batch);
+            }
+        }
+    }
+
+    private void onFull(AuditLog entry) {
+        switch (backpressure) {
+            case BLOCK -> {
+                while (!buffer.offer(entry)) {
+                    if (running) {
+                        wakeDrainer();
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                    } else {
+                        flush();
+                    }
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!buffer.offer(entry)) {
+                    if (buffer.poll() != null) {
+                        droppedOnOverflow.increment();
+                    }
+                }
+            }
+            case SPILL -> {
+                // The queued entries are older, so they go to disk first; the buffer is free again after
+                synchronized (spillLock) {
+                    spilling = true;
+                    List<AuditLog> entries = new ArrayList<>(buffer.size() + 1);
+                    for (AuditLog queued; (queued = buffer.poll()) != null; ) {
+                        entries.add(queued);
+                    }
+                    entries.add(entry);
+                    spill(SPILL_FILE, entries);
+                }
+            }
+        }
+    }
+
+    private void drainLoop() {
+        long lastFlush = System.nanoTime();
+        while (running) {
+            long waited = System.nanoTime() - lastFlush;
+            if (buffer.size() >= batchSize || waited >= flushIntervalNanos) {
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    log.error("Audit flush failed", e);
+                }
+                lastFlush = System.nanoTime();
+            } else {
+                LockSupport.parkNanos(this, flushIntervalNanos - waited);
+            }
+        }
+    }
+
+    private void wakeDrainer() {
+        Thread thread = drainer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void insert(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try {
+            auditVersioner.assign(batch);
+            auditLogRepository.insert(batch);
+        } catch (RuntimeException e) {
+            log.error("Could not insert {} audit entries", batch.size(), e);
+            if (backpressure != AuditBackpressure.SPILL) {
+                droppedOnFailure.increment(batch.size());
+                return;
+            }
+            // Older than anything spilled meanwhile, so it goes to the file replayed first.
+            // Versions assigned before the failure travel with the entries, so none are skipped.
+            synchronized (spillLock) {
+                spilling = true;
+                spill(REPLAY_FILE, batch);
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spill(String file, List<AuditLog> entries) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDir);
+                try (BufferedWriter writer = Files.newBufferedWriter(spillDir.resolve(file), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLog entry : entries) {
+                        // '\n' rather than newLine(): replay counts one byte per line ending
+                        writer.write(objectMapper.writeValueAsString(entry));
+                        writer.write('\n');
+                    }
+                }
+                spilled.increment(entries.size());
+            } catch (IOException e) {
+                log.error("Could not spill {} audit entries to {}", entries.size(), spillDir, e);
+                droppedOnFailure.increment(entries.size());
+            }
+        }
+    }
+
+    // Spill file is renamed first so new spills go to a fresh file while this one replays.
+    // One flush finishes at most a pending replay file and the spill queued behind it.
+    private void replaySpill() {
+        Path replay = spillDir.resolve(REPLAY_FILE);
+        try {
+            for (int pass = 0; ; pass++) {
+                synchronized (spillLock) {
+                    Path spill = spillDir.resolve(SPILL_FILE);
+                    if (!Files.exists(replay)) {
+                        if (!Files.exists(spill)) {
+                            spilling = false;
+                            return;
+                        }
+                        if (pass == 2) {
+                            return;
+                        }
+                        Files.move(spill, replay, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                }
+                if (!replay(replay)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not replay spilled audit entries from {}", replay, e);
+        }
+    }
+
+    // Read batchSize lines at a time; 'offset' is the byte position of the first unwritten line
+    private boolean replay(Path replay) throws IOException {
+        long offset = 0;
+        long replayed = 0;
+        boolean failed = false;
+        try (BufferedReader reader = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+            List<AuditLog> batch = new ArrayList<>(batchSize);
+            long batchEnd = offset;
+            String line;
+            do {
+                line = reader.readLine();
+                if (line != null) {
+                    batch.add(objectMapper.readValue(line, AuditLog.class));
+                    batchEnd += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                }
+                if (batch.size() == batchSize || (line == null && !batch.isEmpty())) {
+                    try {
+                        auditVersioner.assign(batch);
+                        auditLogRepository.insertIgnoringDuplicates(batch);
+                    } catch (RuntimeException e) {
+                        log.warn("Replaying spilled audit entries failed after {}", replayed, e);
+                        failed = true;
+                        break;
+                    }
+                    replayed += batch.size();
+                    offset = batchEnd;
+                    batch = new ArrayList<>(batchSize);
+                }
+            } while (line != null);
+        }
+        if (failed) {
+            // Keep only what is still unwritten for the next attempt
+            dropHead(replay, offset);
+            return false;
+        }
+        Files.delete(replay);
+        log.info("Replayed {} spilled audit entries", replayed);
+        return true;
+    }
+
+    private void dropHead(Path file, long offset) throws IOException {
+        if (offset == 0) {
+            return;
+        }
+        Path rest = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(rest, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            for (long position = offset; position < size; ) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+        Files.move(rest, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
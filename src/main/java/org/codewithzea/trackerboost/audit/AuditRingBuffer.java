@@ -0,0 +1,83 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, multi-consumer queue without locks. Each slot carries a
+ * sequence number telling producers and consumers whose turn it is, so a full or empty
+ * buffer is detected with a single read instead of a monitor. Capacity is rounded up
+ * to a power of two.
+ */
+final class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AuditLog> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Ring buffer capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Returns false instead of waiting when the buffer is full.
+     */
+    boolean offer(AuditLog log) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, log);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (lag < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Oldest entry, or null when the buffer is empty.
+     */
+    AuditLog poll() {
+        while (true) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - (position + 1);
+            if (lag == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    AuditLog log = slots.getAndSet(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return log;
+                }
+            } else if (lag < 0) {
+                return null;
+            }
+        }
+    }
+
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
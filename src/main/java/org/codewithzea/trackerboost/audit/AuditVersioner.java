@@ -0,0 +1,75 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Numbers diff-based audit entries per entity just before {@link AuditLogWriter} inserts
+ * them, so the request thread never waits for a sequence. Only every
+ * {@code app.audit.snapshot-every}-th version (and version 1) keeps its full snapshot;
+ * the others carry just their patch. The writer hands entries over in submit order, also
+ * across spills, and a version once assigned stays with the entry through retries.
+ */
+@Component
+public class AuditVersioner {
+
+    static final String SEQUENCE_COLLECTION = "audit_versions";
+
+    private final MongoTemplate mongoTemplate;
+    private final int snapshotEvery;
+
+    public AuditVersioner(MongoTemplate mongoTemplate,
+                          @Value("${app.audit.snapshot-every:20}") int snapshotEvery) {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("app.audit.snapshot-every must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Assigns versions in batch order with one sequence update per entity; entries that
+     * already have a version (replayed from a spill) are left alone.
+     */
+    public void assign(List<AuditLog> batch) {
+        Map<String, List<AuditLog>> byEntity = new LinkedHashMap<>();
+        for (AuditLog entry : batch) {
+            if (entry.getChanges() != null && entry.getVersion() == null) {
+                byEntity.computeIfAbsent(entry.getEntityType() + ":" + entry.getEntityId(), key -> new ArrayList<>())
+                        .add(entry);
+            }
+        }
+        byEntity.forEach((key, entries) -> {
+            Document sequence = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(key)),
+                    new Update().inc("seq", entries.size()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class,
+                    SEQUENCE_COLLECTION);
+            long version = ((Number) sequence.get("seq")).longValue() - entries.size();
+            for (AuditLog entry : entries) {
+                version++;
+                entry.setVersion(version);
+                if (!isSnapshotVersion(version)) {
+                    entry.setSnapshot(null);
+                }
+            }
+        });
+    }
+
+    private boolean isSnapshotVersion(long version) {
+        return (version - 1) % snapshotEvery == 0;
+    }
+}
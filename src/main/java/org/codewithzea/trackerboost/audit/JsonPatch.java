@@ -0,0 +1,100 @@
+package org.codewithzea.trackerboost.audit;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Minimal RFC 6902 support for audit entries: {@link #diff} produces add/remove/replace
+ * operations between two JSON documents, {@link #apply} replays them. Objects are
+ * compared field by field; arrays that differ are replaced as a whole, which keeps the
+ * patches of the small DTOs we audit short and unambiguous.
+ */
+public final class JsonPatch {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private JsonPatch() {
+    }
+
+    public static ArrayNode diff(JsonNode before, JsonNode after) {
+        ArrayNode operations = NODES.arrayNode();
+        diff("", before, after, operations);
+        return operations;
+    }
+
+    private static void diff(String path, JsonNode before, JsonNode after, ArrayNode operations) {
+        if (before.equals(after)) {
+            return;
+        }
+        if (!before.isObject() || !after.isObject()) {
+            operations.add(operation("replace", path).set("value", after.deepCopy()));
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> removed = before.fields();
+        while (removed.hasNext()) {
+            String field = removed.next().getKey();
+            if (!after.has(field)) {
+                operations.add(operation("remove", path + "/" + escape(field)));
+            }
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = after.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String fieldPath = path + "/" + escape(field.getKey());
+            JsonNode previous = before.get(field.getKey());
+            if (previous == null) {
+                operations.add(operation("add", fieldPath).set("value", field.getValue().deepCopy()));
+            } else {
+                diff(fieldPath, previous, field.getValue(), operations);
+            }
+        }
+    }
+
+    /**
+     * Returns a patched copy of {@code document}; the argument is left untouched.
+     */
+    public static JsonNode apply(JsonNode document, JsonNode patch) {
+        JsonNode result = document.deepCopy();
+        for (JsonNode operation : patch) {
+            String op = operation.path("op").asText();
+            String path = operation.path("path").asText();
+            if (path.isEmpty()) {
+                if (!"replace".equals(op)) {
+                    throw new IllegalArgumentException("Unsupported patch operation on document root: " + op);
+                }
+                result = operation.get("value").deepCopy();
+                continue;
+            }
+            int split = path.lastIndexOf('/');
+            JsonNode parent = result.at(path.substring(0, split));
+            if (!(parent instanceof ObjectNode object)) {
+                throw new IllegalArgumentException("Patch path does not point into an object: " + path);
+            }
+            String field = unescape(path.substring(split + 1));
+            switch (op) {
+                case "add", "replace" -> object.set(field, operation.get("value").deepCopy());
+                case "remove" -> object.remove(field);
+                default -> throw new IllegalArgumentException("Unsupported patch operation: " + op);
+            }
+        }
+        return result;
+    }
+
+    private static ObjectNode operation(String op, String path) {
+        return NODES.objectNode().put("op", op).put("path", path);
+    }
+
+    private static String escape(String field) {
+        return field.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String unescape(String token) {
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+}
@@ -9,7 +9,7 @@ import java.time.Instant;
 @Service
 @RequiredArgsConstructor
 public class SecurityAuditService {
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
     public void logLoginSuccess(String username, String ipAddress) {
         AuditLog log = AuditLog.builder()
@@ -23,7 +23,7 @@ public class SecurityAuditService {
                 .payload("User logged in successfully")
                 .build();
 
-        auditLogRepository.save(log);
+        auditLogWriter.submit(log);
     }
 
     public void logLoginFailure(String username, String ipAddress, String errorMessage) {
@@ -38,7 +38,7 @@ public class SecurityAuditService {
                 .payload(errorMessage)
                 .build();
 
-        auditLogRepository.save(log);
+        auditLogWriter.submit(log);
     }
 
     public void logUnauthorizedAccess(String action, String ipAddress, String errorMessage) {
@@ -51,6 +51,6 @@ public class SecurityAuditService {
                 .payload(errorMessage)
                 .build();
 
-        auditLogRepository.save(log);
+        auditLogWriter.submit(log);
     }
 }
\ No newline at end of file
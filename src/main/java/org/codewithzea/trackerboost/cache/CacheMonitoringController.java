@@ -98,8 +98,8 @@ public class CacheMonitoringController {
                         });
                         // Eviction policy
                         caffeineCache.policy().eviction().ifPresent(eviction -> {
-                            cacheConfig.put("maximumSize", eviction.getMaximum());
-                            cacheConfig.put("weightedSize", eviction.weightedSize().orElse(-1L));
+                            cacheConfig.put("maximumWeightBytes", eviction.getMaximum());
+                            cacheConfig.put("weightedSizeBytes", eviction.weightedSize().orElse(-1L));
                         });
 
                         // Stats
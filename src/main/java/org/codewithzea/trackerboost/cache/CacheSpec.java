@@ -0,0 +1,39 @@
+package org.codewithzea.trackerboost.cache;
+
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Declarative settings for one named cache, shared by the Caffeine and Redis managers.
+ *
+ * @param name              cache name used in {@code @Cacheable}
+ * @param maxWeight         Caffeine bound in estimated bytes (see {@link PayloadWeigher})
+ * @param ttl               time to live
+ * @param expireAfterAccess measure {@code ttl} from the last read instead of the last write
+ * @param metricsTag        value of the {@code cache} tag on the cache meters
+ * @param redisSerializer   value serializer in Redis mode; {@code null} for the shared JSON one
+ */
+public record CacheSpec(String name,
+                        long maxWeight,
+                        Duration ttl,
+                        boolean expireAfterAccess,
+                        String metricsTag,
+                        RedisSerializer<Object> redisSerializer) {
+
+    public CacheSpec {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Cache spec needs a name");
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache '" + name + "' needs a positive max weight");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache '" + name + "' needs a positive ttl");
+        }
+        if (metricsTag == null || metricsTag.isBlank()) {
+            metricsTag = name;
+        }
+    }
+}
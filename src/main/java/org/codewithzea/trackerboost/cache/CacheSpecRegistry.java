@@ -0,0 +1,74 @@
+package org.codewithzea.trackerboost.cache;
+
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The single list of caches this application may use. Defaults live here; each one
+ * can be overridden with {@code app.cache.ttl.<name>}, {@code app.cache.max-mb.<name>}
+ * and {@code app.cache.metrics-tag.<name>}. Caches with their own Redis value format
+ * get it from a {@link CacheValueSerializer} bean.
+ */
+@Component
+public class CacheSpecRegistry {
+
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private final Map<String, CacheSpec> specs = new LinkedHashMap<>();
+
+    public CacheSpecRegistry(Environment environment, List<CacheValueSerializer> serializers) {
+        register(environment, "tasks", 4, "2h", false);
+        register(environment, "projects", 4, "1h", false);
+        register(environment, "developers", 2, "2h", true);
+        register(environment, "projectTasks", 16, "30m", false);
+        register(environment, "developerTasks", 16, "1h", false);
+        register(environment, "overdueTasks", 8, "15m", false);
+        register(environment, "userTasks", 16, "1h", true);
+        register(environment, "allProjects", 8, "10m", false);
+        register(environment, "projectSummaries", 8, "10m", false);
+        register(environment, "projectsWithoutTasks", 4, "10m", false);
+        register(environment, "projectStats", 2, "10m", false);
+        for (CacheValueSerializer serializer : serializers) {
+            CacheSpec spec = get(serializer.cacheName());
+            specs.put(spec.name(), new CacheSpec(spec.name(), spec.maxWeight(), spec.ttl(),
+                    spec.expireAfterAccess(), spec.metricsTag(), serializer));
+        }
+    }
+
+    public Collection<CacheSpec> specs() {
+        return Collections.unmodifiableCollection(specs.values());
+    }
+
+    public Optional<CacheSpec> find(String name) {
+        return Optional.ofNullable(specs.get(name));
+    }
+
+    public CacheSpec get(String name) {
+        return find(name).orElseThrow(() ->
+                new IllegalStateException("No cache spec registered for '" + name + "'"));
+    }
+
+    private void register(Environment env, String name, long maxMb, String ttl, boolean expireAfterAccess) {
+        specs.put(name, new CacheSpec(
+                name,
+                env.getProperty("app.cache.max-mb." + name, Long.class, maxMb) * BYTES_PER_MB,
+                parse(env.getProperty("app.cache.ttl." + name, ttl)),
+                expireAfterAccess,
+                env.getProperty("app.cache.metrics-tag." + name, name),
+                null));
+    }
+
+    private static Duration parse(String value) {
+        return DurationStyle.detectAndParse(value.trim());
+    }
+}
@@ -0,0 +1,71 @@
+package org.codewithzea.trackerboost.cache;
+
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fails startup when a cache annotation on one of our beans names a cache without a
+ * {@link CacheSpec}. Without this an unknown name would surface as a runtime error on
+ * the first call, or silently pick up defaults.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheSpecValidator implements SmartInitializingSingleton {
+
+    private static final String APPLICATION_PACKAGE = "org.codewithzea.trackerboost";
+
+    private final CacheSpecRegistry registry;
+    private final ListableBeanFactory beanFactory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, String> missing = findMissingSpecs();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Caches used without a CacheSpec: " + missing);
+        }
+    }
+
+    /**
+     * Cache name to the first method that uses it, for every unregistered name.
+     */
+    Map<String, String> findMissingSpecs() {
+        AnnotationCacheOperationSource operationSource = new AnnotationCacheOperationSource();
+        Map<String, String> missing = new TreeMap<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> type = beanFactory.getType(beanName, false);
+            if (type == null) {
+                continue;
+            }
+            Class<?> userClass = ClassUtils.getUserClass(type);
+            if (!userClass.getName().startsWith(APPLICATION_PACKAGE)) {
+                continue;
+            }
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(userClass, ReflectionUtils.USER_DECLARED_METHODS)) {
+                Collection<CacheOperation> operations = operationSource.getCacheOperations(method, userClass);
+                if (operations == null) {
+                    continue;
+                }
+                for (CacheOperation operation : operations) {
+                    for (String cacheName : operation.getCacheNames()) {
+                        if (registry.find(cacheName).isEmpty()) {
+                            missing.putIfAbsent(cacheName, userClass.getSimpleName() + "." + method.getName());
+                        }
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,13 @@
+package org.codewithzea.trackerboost.cache;
+
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Redis value serializer for one cache, contributed as a bean by the feature that owns
+ * the cached type. {@link CacheSpecRegistry} attaches it to the spec named {@link #cacheName()}.
+ */
+public interface CacheValueSerializer extends RedisSerializer<Object> {
+
+    String cacheName();
+}
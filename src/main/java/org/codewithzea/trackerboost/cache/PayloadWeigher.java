@@ -0,0 +1,127 @@
+package org.codewithzea.trackerboost.cache;
+
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the retained heap of a cache entry in bytes so Caffeine can bound each
+ * cache by memory rather than by entry count. The numbers follow a 64-bit JVM with
+ * compressed oops; they are estimates, not measurements, but they keep a page of
+ * 100 projects from weighing the same as a single project.
+ * <p>
+ * Pages, slices, arrays, collections, maps, strings and JDK value types are weighed directly;
+ * anything from this application (DTOs, records) is weighed field by field.
+ */
+public class PayloadWeigher implements Weigher<Object, Object> {
+
+    static final int OBJECT_HEADER = 16;
+    static final int REFERENCE = 4;
+    static final int ENTRY_OVERHEAD = 64;
+    private static final int MAX_DEPTH = 8;
+    private static final String APPLICATION_PACKAGE = "org.codewithzea.trackerboost";
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = ENTRY_OVERHEAD + estimate(key, 0) + estimate(value, 0);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    public static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (depth > MAX_DEPTH) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof CharSequence text) {
+            // String header + value array; Latin-1 strings use one byte per char
+            return 24 + OBJECT_HEADER + align(text.length());
+        }
+        if (value instanceof Enum<?> || value instanceof Boolean) {
+            // shared constants, only the reference counts
+            return 0;
+        }
+        if (value instanceof Number || value instanceof Character || value instanceof Temporal) {
+            return 24;
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_HEADER + align(bytes.length);
+        }
+        if (value instanceof Object[] array) {
+            long bytes = OBJECT_HEADER + align((long) array.length * REFERENCE);
+            for (Object element : array) {
+                bytes += estimate(element, depth + 1);
+            }
+            return bytes;
+        }
+        if (value instanceof Slice<?> slice) {
+            // PageImpl/SliceImpl plus their Pageable and Sort
+            return 96 + estimate(slice.getContent(), depth + 1);
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 40 + OBJECT_HEADER + (long) collection.size() * REFERENCE;
+            for (Object element : collection) {
+                bytes += estimate(element, depth + 1);
+            }
+            return bytes;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 48 + OBJECT_HEADER + (long) map.size() * (32 + REFERENCE);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return bytes;
+        }
+        if (value.getClass().getName().startsWith(APPLICATION_PACKAGE)) {
+            return estimateFields(value, depth);
+        }
+        return OBJECT_HEADER + 16;
+    }
+
+    private static long estimateFields(Object value, int depth) {
+        Field[] fields = FIELDS.get(value.getClass());
+        long bytes = OBJECT_HEADER;
+        for (Field field : fields) {
+            Class<?> type = field.getType();
+            if (type.isPrimitive()) {
+                bytes += type == long.class || type == double.class ? 8 : 4;
+                continue;
+            }
+            bytes += REFERENCE;
+            try {
+                bytes += estimate(field.get(value), depth + 1);
+            } catch (IllegalAccessException e) {
+                bytes += OBJECT_HEADER;
+            }
+        }
+        return align(bytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,130 @@
+package org.codewithzea.trackerboost.config;
+
+
+import org.codewithzea.trackerboost.project.ProjectRepository;
+import org.codewithzea.trackerboost.task.TaskRepository;
+import org.codewithzea.trackerboost.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup check that the hot repository queries can be served from an index.
+ * Each entry calls the named repository method with placeholder arguments; the SQL
+ * Hibernate generates for it is captured by {@link StatementCapture} instead of being
+ * run, and EXPLAINed as a generic plan. Plans are taken with {@code enable_seqscan = off},
+ * so a Seq Scan that still shows up means no usable index exists, not that the table is
+ * just small. PostgreSQL 16+ only; never fails startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.query-plan-check.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryPlanSelfCheck {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatementCapture statementCapture;
+    private final Map<String, Runnable> hotQueries = new LinkedHashMap<>();
+
+    public QueryPlanSelfCheck(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              StatementCapture statementCapture,
+                              TaskRepository taskRepository,
+                              ProjectRepository projectRepository,
+                              UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.statementCapture = statementCapture;
+
+        hotQueries.put("TaskRepository.findViewsByProjectId", () -> taskRepository.findViewsByProjectId(0L));
+        hotQueries.put("TaskRepository.findViewsByDeveloperId", () -> taskRepository.findViewsByDeveloperId(0L));
+        hotQueries.put("TaskRepository.existsByIdAndAssignedDevelopers_Id",
+                () -> taskRepository.existsByIdAndAssignedDevelopers_Id(0L, 0L));
+        hotQueries.put("TaskRepository.findAfterByDueDateAsc",
+                () -> taskRepository.findAfterByDueDateAsc(LocalDate.now(), 0L, PageRequest.of(0, 10)));
+        hotQueries.put("TaskRepository.countTasksGroupedByStatus", taskRepository::countTasksGroupedByStatus);
+        hotQueries.put("TaskRepository.findByAssignedUserId", () -> taskRepository.findByAssignedUserId(0L));
+        hotQueries.put("ProjectRepository.existsByIdAndManagerId", () -> projectRepository.existsByIdAndManagerId(0L, 0L));
+        hotQueries.put("ProjectRepository.findSummariesWithoutTasks",
+                () -> projectRepository.findSummariesWithoutTasks(PageRequest.of(0, 20, Sort.by("id"))));
+        hotQueries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("self-check@example.com"));
+    }
+
+    /**
+     * Repository method ({@code Repository.method}) to a call of it.
+     */
+    public Map<String, Runnable> hotQueries() {
+        return Collections.unmodifiableMap(hotQueries);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPlans() {
+        try {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(database)) {
+                log.debug("Skipping query plan self-check on {}", database);
+                return;
+            }
+            int warnings = 0;
+            for (Map.Entry<String, Runnable> query : hotQueries.entrySet()) {
+                String sql = statementCapture.capture(query.getValue());
+                if (sql == null) {
+                    log.warn("{} issued no SQL to check", query.getKey());
+                } else if (hasSeqScan(query.getKey(), sql)) {
+                    warnings++;
+                }
+            }
+            log.info("Query plan self-check finished: {} of {} queries need a sequential scan",
+                    warnings, hotQueries.size());
+        } catch (RuntimeException e) {
+            log.warn("Query plan self-check could not run: {}", e.getMessage());
+        }
+    }
+
+    private boolean hasSeqScan(String name, String sql) {
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class);
+        });
+        if (plan == null) {
+            return false;
+        }
+        for (String line : plan) {
+            if (line.contains("Seq Scan")) {
+                log.warn("{} uses a sequential scan - check its indexes. SQL: {}\nPlan:\n{}",
+                        name, sql, String.join("\n", plan));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // JDBC ? placeholders to the $n form a generic plan accepts
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
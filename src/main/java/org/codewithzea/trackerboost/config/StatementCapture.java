@@ -0,0 +1,64 @@
+package org.codewithzea.trackerboost.config;
+
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Session factory statement inspector that lets {@link QueryPlanSelfCheck} see the SQL
+ * Hibernate generates for a repository method without running it. Outside
+ * {@link #capture} it passes every statement through unchanged.
+ */
+@Component
+@ConditionalOnProperty(name = "app.query-plan-check.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementCapture implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<String[]> CAPTURING = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String[] captured = CAPTURING.get();
+        if (captured == null) {
+            return sql;
+        }
+        captured[0] = sql;
+        throw new Captured();
+    }
+
+    /**
+     * SQL of the first statement {@code call} would run, or null if it runs none.
+     * The statement is aborted before it reaches the database.
+     */
+    public String capture(Runnable call) {
+        String[] captured = new String[1];
+        CAPTURING.set(captured);
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            // Captured, possibly wrapped by Hibernate or Spring on the way out
+            if (captured[0] == null) {
+                throw e;
+            }
+        } finally {
+            CAPTURING.remove();
+        }
+        return captured[0];
+    }
+
+    private static final class Captured extends RuntimeException {
+
+        Captured() {
+            super("statement captured", null, false, false);
+        }
+    }
+}
@@ -10,7 +10,7 @@ import org.codewithzea.trackerboost.task.*;
 import org.codewithzea.trackerboost.user.UserEntity;
 
 @Entity
-@Table(name = "developers")
+@Table(name = "developers", indexes = @Index(name = "idx_developers_user_id", columnList = "user_id"))
 @Getter
 @Setter
 @NoArgsConstructor
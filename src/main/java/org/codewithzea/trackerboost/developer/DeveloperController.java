@@ -75,9 +75,10 @@ public class DeveloperController {
 
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping("/top")
-    public ResponseEntity<List<DeveloperDTO>> getTop5DevelopersByTaskCount() {
-        log.info("Fetching top 5 developers by task count");
-        List<DeveloperDTO> developers = developerService.getTop5DevelopersByTaskCount();
+    public ResponseEntity<List<DeveloperDTO>> getTopDevelopersByTaskCount(
+            @RequestParam(defaultValue = "${app.developers.leaderboard.default-k:5}") int k) {
+        log.info("Fetching top {} developers by task count", k);
+        List<DeveloperDTO> developers = developerService.getTopDevelopersByTaskCount(k);
         log.debug("Retrieved top developers: {}", developers);
         return ResponseEntity.ok(developers);
     }
@@ -0,0 +1,8 @@
+package org.codewithzea.trackerboost.developer;
+
+
+/**
+ * Published by {@link DeveloperService} when a developer is deleted.
+ */
+public record DeveloperDeletedEvent(Long developerId) {
+}
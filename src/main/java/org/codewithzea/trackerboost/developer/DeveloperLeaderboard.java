@@ -0,0 +1,171 @@
+package org.codewithzea.trackerboost.developer;
+
+
+import org.codewithzea.trackerboost.task.TaskChangedEvent;
+import org.codewithzea.trackerboost.task.TaskSnapshot;
+import org.codewithzea.trackerboost.task.TasksDeletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Developers ranked by number of assigned tasks, kept in memory so the top K is read
+ * in O(K) instead of grouping the whole task_developer table per request.
+ * Assignment changes and developer deletes arrive through committed events; the board
+ * is rebuilt from one aggregate query at startup and on
+ * {@code app.developers.leaderboard.rebuild-interval}. The query runs without the lock;
+ * events committed while it runs are replayed onto the rebuilt board before the swap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeveloperLeaderboard {
+
+    // Highest count first, lower id breaks ties
+    private static final Comparator<Rank> ORDER = Comparator.comparingLong(Rank::taskCount).reversed()
+            .thenComparingLong(Rank::developerId);
+
+    record Rank(long developerId, long taskCount) {}
+
+    private final DeveloperRepository developerRepository;
+    private final Lock rebuildLock = new ReentrantLock();
+
+    private Map<Long, Rank> byDeveloper = new HashMap<>();
+    private NavigableSet<Rank> ranking = new TreeSet<>(ORDER);
+    // Non-null while a rebuild query runs
+    private List<Runnable> pendingDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.developers.leaderboard.rebuild-interval:PT10M}",
+            initialDelayString = "${app.developers.leaderboard.rebuild-interval:PT10M}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildFromDatabase();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        Map<Long, Rank> developers = new HashMap<>();
+        NavigableSet<Rank> ranks = new TreeSet<>(ORDER);
+        int replayed;
+        try {
+            for (Object[] row : developerRepository.countAssignedTasksPerDeveloper()) {
+                Rank rank = new Rank((Long) row[0], (Long) row[1]);
+                developers.put(rank.developerId(), rank);
+                ranks.add(rank);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            byDeveloper = developers;
+            ranking = ranks;
+            pendingDuringRebuild.forEach(Runnable::run);
+            replayed = pendingDuringRebuild.size();
+            pendingDuringRebuild = null;
+        }
+        log.info("Rebuilt developer leaderboard for {} developers, replayed {} events", developers.size(), replayed);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<Long> before = event.before() != null ? event.before().developerIds() : Set.of();
+        Set<Long> after = event.after() != null ? event.after().developerIds() : Set.of();
+        if (before.equals(after)) {
+            return;
+        }
+        apply(() -> {
+            for (Long id : before) {
+                if (!after.contains(id)) {
+                    adjust(id, -1);
+                }
+            }
+            for (Long id : after) {
+                if (!before.contains(id)) {
+                    adjust(id, 1);
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        apply(() -> {
+            for (TaskSnapshot task : event.tasks()) {
+                for (Long id : task.developerIds()) {
+                    adjust(id, -1);
+                }
+            }
+        });
+    }
+
+    // After commit, so a rolled-back delete keeps the developer on the board
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeveloperDeleted(DeveloperDeletedEvent event) {
+        apply(() -> {
+            Rank rank = byDeveloper.remove(event.developerId());
+            if (rank != null) {
+                ranking.remove(rank);
+            }
+        });
+    }
+
+    /**
+     * Ids of the {@code k} developers with the most tasks, best first.
+     */
+    public synchronized List<Long> top(int k) {
+        List<Long> ids = new ArrayList<>(Math.min(k, ranking.size()));
+        for (Rank rank : ranking) {
+            if (ids.size() == k) {
+                break;
+            }
+            ids.add(rank.developerId());
+        }
+        return ids;
+    }
+
+    public synchronized long taskCount(Long developerId) {
+        Rank rank = byDeveloper.get(developerId);
+        return rank != null ? rank.taskCount() : 0;
+    }
+
+    // The rebuild query may have run before this commit, so the change is kept for replay
+    private synchronized void apply(Runnable change) {
+        change.run();
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(change);
+        }
+    }
+
+    private void adjust(Long developerId, long delta) {
+        Rank current = byDeveloper.get(developerId);
+        if (current != null) {
+            ranking.remove(current);
+        }
+        Rank updated = new Rank(developerId, Math.max(0, (current != null ? current.taskCount() : 0) + delta));
+        byDeveloper.put(developerId, updated);
+        ranking.add(updated);
+    }
+}
@@ -1,20 +1,28 @@
 package org.codewithzea.trackerboost.developer;
 
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface DeveloperRepository extends JpaRepository<Developer, Long> {
 
-    // Find top 5 developers with most tasks assigned
-    @Query("SELECT d FROM Developer d LEFT JOIN d.assignedTasks t GROUP BY d ORDER BY COUNT(t) DESC")
-    List<Developer> findTop5ByTaskCount(Pageable pageable);
+    // Leaderboard rebuild: every developer with its assigned task count, ids only
+    @Query("SELECT d.id, COUNT(t) FROM Developer d LEFT JOIN d.assignedTasks t GROUP BY d.id")
+    List<Object[]> countAssignedTasksPerDeveloper();
+
+    // Skills fetched in the same query; DeveloperDTO always maps them
+    @Query("SELECT DISTINCT d FROM Developer d LEFT JOIN FETCH d.skills WHERE d.id IN :ids")
+    List<Developer> findAllWithSkillsByIdIn(@Param("ids") Collection<Long> ids);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT d FROM Developer d LEFT JOIN FETCH d.user WHERE d.id IN :ids")
+    List<Developer> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
 }
 
 
@@ -9,11 +9,15 @@ import org.codewithzea.trackerboost.util.MapperUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +28,11 @@ public class DeveloperService {
     private final UserRepository  userRepository;
     private final AuditLogService auditLogService;
     private final ObjectMapper objectMapper;
+    private final DeveloperLeaderboard developerLeaderboard;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.developers.leaderboard.max-k:100}")
+    private int maxLeaderboardSize;
 
 
     public DeveloperDTO getDeveloperById(Long id) {
@@ -56,14 +65,15 @@ public class DeveloperService {
         Developer dev = developerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Developer not found with id " + id));
 
+        DeveloperDTO before = MapperUtil.toDeveloperDTO(dev);
         dev.setName(dto.name());
         dev.setEmail(dto.email());
         dev.setSkills(dto.skills());
 
         Developer updated = developerRepository.save(dev);
-        String payload = objectMapper.writeValueAsString(updated);
-        auditLogService.log("UPDATE", "Developer", updated.getId().toString(), payload);
-        return MapperUtil.toDeveloperDTO(updated);
+        DeveloperDTO after = MapperUtil.toDeveloperDTO(updated);
+        auditLogService.logChange("Developer", updated.getId().toString(), before, after);
+        return after;
     }
 
     @Transactional
@@ -72,13 +82,28 @@ public class DeveloperService {
                 .orElseThrow(() -> new ResourceNotFoundException("Developer not found with id " + id));
         developerRepository.delete(dev);
         auditLogService.log("DELETE", "Developer", id.toString(), "");
+        eventPublisher.publishEvent(new DeveloperDeletedEvent(id));
     }
 
-    public List<DeveloperDTO> getTop5DevelopersByTaskCount() {
-        // Use exact size since we know it's 5
-        return developerRepository.findTop5ByTaskCount(PageRequest.of(0,5)).stream()
-                .map(MapperUtil::toDeveloperDTO)
-                .collect(Collectors.toCollection(() -> new ArrayList<>(5)));
+    // Ranking comes from the in-memory leaderboard; only the k winners are read, in one query
+    public List<DeveloperDTO> getTopDevelopersByTaskCount(int k) {
+        if (k < 1 || k > maxLeaderboardSize) {
+            throw new IllegalArgumentException("k must be between 1 and " + maxLeaderboardSize);
+        }
+        List<Long> ids = developerLeaderboard.top(k);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Developer> developers = developerRepository.findAllWithSkillsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Developer::getId, Function.identity()));
+        List<DeveloperDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Developer developer = developers.get(id);
+            if (developer != null) {
+                result.add(MapperUtil.toDeveloperDTO(developer));
+            }
+        }
+        return result;
     }
 
 }
@@ -1,11 +1,16 @@
 package org.codewithzea.trackerboost.optimize;
 
 
+import org.codewithzea.trackerboost.cache.CacheConfig;
+import org.codewithzea.trackerboost.cache.PayloadWeigher;
+import org.codewithzea.trackerboost.project.CachedProjectPage;
+import org.codewithzea.trackerboost.project.CachedProjectPageSerializer;
 import org.codewithzea.trackerboost.project.ProjectDTO;
 import org.codewithzea.trackerboost.project.ProjectService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -46,6 +51,26 @@ public class BenchmarkController {
         );
     }
 
+    /**
+     * Per-entry footprint of one allProjects page: the PageImpl that used to be cached
+     * against the CachedProjectPage cached now, on the heap and as Redis bytes.
+     */
+    @GetMapping("/project-page-cache")
+    public CacheFootprintResult compareProjectPageCacheEntries(Pageable pageable) {
+        Page<ProjectDTO> page = projectService.getAllProjects(pageable);
+        Page<ProjectDTO> pageImpl = new PageImpl<>(page.getContent(), pageable, page.getTotalElements());
+        CachedProjectPage cached = CachedProjectPage.of(page);
+
+        return new CacheFootprintResult(
+                "allProjects cache entry",
+                page.getNumberOfElements(),
+                PayloadWeigher.estimate(pageImpl, 0),
+                PayloadWeigher.estimate(cached, 0),
+                CacheConfig.jsonRedisSerializer().serialize(pageImpl).length,
+                new CachedProjectPageSerializer().serialize(cached).length
+        );
+    }
+
     private long getObjectSize(Object obj) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         objectMapper.writeValue(baos, obj);
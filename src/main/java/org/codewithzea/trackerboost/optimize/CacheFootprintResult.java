@@ -0,0 +1,18 @@
+package org.codewithzea.trackerboost.optimize;
+
+public record CacheFootprintResult(
+        String testName,
+        int rowsPerEntry,
+        long originalHeapBytes,
+        long optimizedHeapBytes,
+        long originalRedisBytes,
+        long optimizedRedisBytes
+) {
+    public double getHeapReductionPercentage() {
+        return 100.0 * (originalHeapBytes - optimizedHeapBytes) / originalHeapBytes;
+    }
+
+    public double getRedisReductionPercentage() {
+        return 100.0 * (originalRedisBytes - optimizedRedisBytes) / originalRedisBytes;
+    }
+}
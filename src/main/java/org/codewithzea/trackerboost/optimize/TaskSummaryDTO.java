@@ -1,6 +1,8 @@
 package org.codewithzea.trackerboost.optimize;
 
 
+import org.codewithzea.trackerboost.task.TaskStatus;
+
 import java.time.LocalDate;
 
 public record TaskSummaryDTO(
@@ -8,4 +10,10 @@ public record TaskSummaryDTO(
         String title,
         String status,
         LocalDate dueDate
-) {}
+) {
+
+    // Used by JPQL constructor expressions, which pass the converted enum
+    public TaskSummaryDTO(Long id, String title, TaskStatus status, LocalDate dueDate) {
+        this(id, title, status != null ? status.name() : null, dueDate);
+    }
+}
@@ -0,0 +1,126 @@
+package org.codewithzea.trackerboost.project;
+
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What the allProjects cache actually stores: the rows and the numbers needed to
+ * rebuild a {@link Page}, without the {@code Pageable}/{@code Sort} that every
+ * {@code PageImpl} drags along. The caller's own {@code Pageable} is reattached in
+ * {@link #toPage(Pageable)}.
+ * <p>
+ * {@link #toBytes()} and {@link #fromBytes(byte[])} are the binary form used in Redis;
+ * unlike JSON it carries no field names or type hints.
+ */
+public record CachedProjectPage(ProjectDTO[] content, long total, int page, int size) {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    public static CachedProjectPage of(Page<ProjectDTO> page) {
+        return new CachedProjectPage(page.getContent().toArray(new ProjectDTO[0]),
+                page.getTotalElements(), page.getNumber(), page.getSize());
+    }
+
+    public Page<ProjectDTO> toPage(Pageable pageable) {
+        return new PageImpl<>(List.of(content), pageable, total);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + content.length * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(page);
+            out.writeInt(size);
+            out.writeLong(total);
+            out.writeInt(content.length);
+            for (ProjectDTO dto : content) {
+                writeNullableLong(out, dto.id());
+                out.writeUTF(dto.name());
+                writeNullableString(out, dto.description());
+                out.writeLong(dto.deadline().toEpochDay());
+                out.writeUTF(dto.status());
+                out.writeLong(dto.managerId());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode cached project page", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CachedProjectPage fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported cached project page format " + version);
+            }
+            int page = in.readInt();
+            int size = in.readInt();
+            long total = in.readLong();
+            ProjectDTO[] content = new ProjectDTO[in.readInt()];
+            for (int i = 0; i < content.length; i++) {
+                content[i] = new ProjectDTO(
+                        readNullableLong(in),
+                        in.readUTF(),
+                        readNullableString(in),
+                        LocalDate.ofEpochDay(in.readLong()),
+                        in.readUTF(),
+                        in.readLong());
+            }
+            return new CachedProjectPage(content, total, page, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode cached project page", e);
+        }
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CachedProjectPage other
+                && total == other.total && page == other.page && size == other.size
+                && Arrays.equals(content, other.content);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(content) + Long.hashCode(total) + page * 17 + size;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedProjectPage[page=" + page + ", size=" + size + ", total=" + total
+                + ", rows=" + content.length + "]";
+    }
+}
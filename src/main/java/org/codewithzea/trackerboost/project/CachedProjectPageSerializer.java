@@ -0,0 +1,42 @@
+package org.codewithzea.trackerboost.project;
+
+
+import org.codewithzea.trackerboost.cache.CacheValueSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis value serializer for the allProjects cache, using the binary form of
+ * {@link CachedProjectPage} instead of type-tagged JSON.
+ */
+@Component
+public class CachedProjectPageSerializer implements CacheValueSerializer {
+
+    @Override
+    public String cacheName() {
+        return ProjectCacheGenerations.ALL_PROJECTS;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof CachedProjectPage page)) {
+            throw new SerializationException("Expected a CachedProjectPage but got " + value.getClass().getName());
+        }
+        return page.toBytes();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return CachedProjectPage.fromBytes(bytes);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not read cached project page", e);
+        }
+    }
+}
@@ -13,7 +13,7 @@ import java.time.LocalDate;
 import java.util.*;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = @Index(name = "idx_projects_manager_id", columnList = "manager_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,10 +42,19 @@ public class Project {
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id", nullable = false)
     @NotNull
     private UserEntity manager;
+
+    // Read-only view of manager_id so DTO mapping never touches the manager proxy
+    @Setter(AccessLevel.NONE)
+    @Column(name = "manager_id", insertable = false, updatable = false)
+    private Long managerId;
+
+    public Long getManagerId() {
+        return managerId != null ? managerId : manager != null ? manager.getId() : null;
+    }
 }
 
 
@@ -0,0 +1,216 @@
+package org.codewithzea.trackerboost.project;
+
+
+import org.codewithzea.trackerboost.util.MapperUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reads projects by id in batches.
+ * <ul>
+ *   <li>{@link #getAll} serves a list of ids from the {@code projects} cache and loads
+ *   every miss with one {@code WHERE id IN (...)} query (Caffeine {@code getAll}).</li>
+ *   <li>{@link #load} coalesces concurrent single-id misses: ids arriving within
+ *   {@code app.projects.coalesce.window} share one IN query, flushed early once
+ *   {@code app.projects.coalesce.max-batch} ids are waiting. A caller waits at most
+ *   {@code app.projects.coalesce.timeout} for its batch.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ProjectBatchLoader {
+
+    static final String CACHE_NAME = "projects";
+
+    private final ProjectRepository projectRepository;
+    private final CacheManager cacheManager;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final Duration timeout;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private Batch pending;
+
+    public ProjectBatchLoader(ProjectRepository projectRepository,
+                              CacheManager cacheManager,
+                              @Value("${app.projects.coalesce.window:PT0.005S}") Duration window,
+                              @Value("${app.projects.coalesce.max-batch:100}") int maxBatch,
+                              @Value("${app.projects.coalesce.timeout:PT5S}") Duration timeout) {
+        this.projectRepository = projectRepository;
+        this.cacheManager = cacheManager;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.timeout = timeout;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "project-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cached projects for the given ids, in request order; unknown ids are skipped.
+     */
+    public List<ProjectDTO> getAll(Collection<Long> ids) {
+        Set<Long> keys = new LinkedHashSet<>(ids);
+        keys.remove(null);
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProjectDTO> found = new HashMap<>();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine =
+                    (com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache;
+            // Misses go to loadAll in one call; ids it does not return stay uncached
+            caffeine.getAll(keys, this::loadAllForCache).forEach((id, value) -> {
+                if (value instanceof ProjectDTO dto) {
+                    found.put((Long) id, dto);
+                }
+            });
+        } else {
+            List<Long> misses = new ArrayList<>();
+            for (Long id : keys) {
+                ProjectDTO cached = cache != null ? cache.get(id, ProjectDTO.class) : null;
+                if (cached != null) {
+                    found.put(id, cached);
+                } else {
+                    misses.add(id);
+                }
+            }
+            Map<Long, ProjectDTO> loaded = loadAll(misses);
+            if (cache != null) {
+                loaded.forEach(cache::put);
+            }
+            found.putAll(loaded);
+        }
+        List<ProjectDTO> result = new ArrayList<>(keys.size());
+        for (Long id : keys) {
+            ProjectDTO dto = found.get(id);
+            if (dto != null) {
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads one project, sharing the query with other ids requested in the same window.
+     * Returns null for an unknown id.
+     */
+    public ProjectDTO load(Long id) {
+        CompletableFuture<ProjectDTO> future;
+        Batch full = null;
+        synchronized (lock) {
+            if (pending == null) {
+                Batch batch = new Batch();
+                pending = batch;
+                try {
+                    flusher.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: no timer left, so this caller flushes it
+                    full = batch;
+                    pending = null;
+                }
+            }
+            Batch batch = full != null ? full : pending;
+            future = batch.futures.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (full == null && batch.futures.size() >= maxBatch) {
+                full = batch;
+                pending = null;
+            }
+        }
+        if (full != null) {
+            flush(full);
+        }
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Loading project " + id + " failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out after " + timeout + " loading project " + id, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted loading project " + id, e);
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (lock) {
+            if (pending == batch) {
+                pending = null;
+            }
+        }
+        // Runs once per batch, whether the timer or a full batch got here first
+        if (!batch.flushed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Map<Long, ProjectDTO> loaded = loadAll(batch.futures.keySet());
+            log.debug("Coalesced {} project lookups into one query", batch.futures.size());
+            batch.futures.forEach((id, future) -> future.complete(loaded.get(id)));
+        } catch (RuntimeException e) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void fail(Batch batch, RuntimeException e) {
+        if (batch.flushed.compareAndSet(false, true)) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private Map<Object, Object> loadAllForCache(Set<?> keys) {
+        List<Long> ids = new ArrayList<>(keys.size());
+        keys.forEach(key -> ids.add((Long) key));
+        return new HashMap<>(loadAll(ids));
+    }
+
+    private Map<Long, ProjectDTO> loadAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, ProjectDTO> result = new HashMap<>();
+        for (Project project : projectRepository.findAllById(ids)) {
+            result.put(project.getId(), MapperUtil.toProjectDTO(project));
+        }
+        return result;
+    }
+
+    // Lets scheduled flushes run; whatever is still waiting afterwards fails instead of hanging
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            flusher.shutdownNow();
+        }
+        Batch leftover;
+        synchronized (lock) {
+            leftover = pending;
+            pending = null;
+        }
+        if (leftover != null) {
+            fail(leftover, new IllegalStateException("Project batch loader shut down"));
+        }
+    }
+
+    // Ids are only added under the lock, before the batch is detached from pending
+    private static final class Batch {
+        final Map<Long, CompletableFuture<ProjectDTO>> futures = new HashMap<>();
+        final AtomicBoolean flushed = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,40 @@
+package org.codewithzea.trackerboost.project;
+
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * After a project write commits, evicts that project's own entries and moves the
+ * list caches to a new generation rather than clearing them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final ProjectCacheGenerations generations;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        evict("projects", event.projectId());
+        if (event.deleted()) {
+            evict("projectTasks", event.projectId());
+            evict("projectStats", event.projectId());
+        }
+        generations.bump(ProjectCacheGenerations.ALL_PROJECTS);
+        generations.bump(ProjectCacheGenerations.PROJECT_SUMMARIES);
+        generations.bump(ProjectCacheGenerations.PROJECTS_WITHOUT_TASKS);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.codewithzea.trackerboost.project;
+
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation counters for the paged project list caches. The current generation
+ * is part of every page key (see the {@code @Cacheable} keys in ProjectService),
+ * so a write bumps one counter instead of wiping the cache: readers move to fresh
+ * keys and stale pages simply expire. With the Redis cache the counters live in
+ * Redis too, so every instance sees the same generation.
+ */
+@Slf4j
+@Component
+public class ProjectCacheGenerations {
+
+    public static final String ALL_PROJECTS = "allProjects";
+    public static final String PROJECT_SUMMARIES = "projectSummaries";
+    public static final String PROJECTS_WITHOUT_TASKS = "projectsWithoutTasks";
+
+    private static final String REDIS_KEY_PREFIX = "cache-generation:";
+
+    private final Map<String, AtomicLong> local = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redis;
+
+    public ProjectCacheGenerations(@Value("${spring.cache.type:caffeine}") String cacheType,
+                                   ObjectProvider<StringRedisTemplate> redisTemplate) {
+        this.redis = "redis".equalsIgnoreCase(cacheType) ? redisTemplate.getIfAvailable() : null;
+    }
+
+    public long current(String cacheName) {
+        if (redis != null) {
+            String value = redis.opsForValue().get(REDIS_KEY_PREFIX + cacheName);
+            return value != null ? Long.parseLong(value) : 0L;
+        }
+        return local.computeIfAbsent(cacheName, name -> new AtomicLong()).get();
+    }
+
+    public long bump(String cacheName) {
+        long generation = redis != null
+                ? redis.opsForValue().increment(REDIS_KEY_PREFIX + cacheName)
+                : local.computeIfAbsent(cacheName, name -> new AtomicLong()).incrementAndGet();
+        log.debug("Cache {} moved to generation {}", cacheName, generation);
+        return generation;
+    }
+}
@@ -0,0 +1,8 @@
+package org.codewithzea.trackerboost.project;
+
+
+/**
+ * Published by {@link ProjectService} for every project write.
+ */
+public record ProjectChangedEvent(Long projectId, boolean deleted) {
+}
@@ -3,6 +3,7 @@ package org.codewithzea.trackerboost.project;
 
 
 
+import org.codewithzea.trackerboost.optimize.ProjectListDTO;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProjectController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProjectService projectService;
 
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
@@ -31,6 +34,22 @@ public class ProjectController {
         return ResponseEntity.ok(project);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ProjectStatsDTO> getProjectStats(@PathVariable Long id) {
+        log.info("Fetching stats for project with ID: {}", id);
+        return ResponseEntity.ok(projectService.getProjectStats(id));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProjectDTO>> getProjectsByIds(@RequestParam List<Long> ids) {
+        log.info("Fetching {} projects by ID", ids.size());
+        List<ProjectDTO> projects = projectService.getProjectsByIds(ids);
+        log.debug("Found {} of {} requested projects", projects.size(), ids.size());
+        return ResponseEntity.ok(projects);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
     @GetMapping
     public ResponseEntity<Page<ProjectDTO>> getAllProjects(
@@ -90,6 +109,21 @@ public class ProjectController {
         log.debug("Found {} projects without tasks", projects.size());
         return ResponseEntity.ok(projects);
     }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER', 'CONTRACTOR')")
+    @GetMapping("/without-tasks/page")
+    public ResponseEntity<Page<ProjectListDTO>> getProjectSummariesWithoutTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.info("Fetching projects without tasks - Page: {}, Size: {}", page, size);
+        Page<ProjectListDTO> projects = projectService.getProjectSummariesWithoutTasks(
+                PageRequest.of(page, size, Sort.by("id")));
+        log.debug("Found {} of {} projects without tasks", projects.getNumberOfElements(), projects.getTotalElements());
+        return ResponseEntity.ok(projects);
+    }
 }
 
 
@@ -8,7 +8,10 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -23,8 +26,42 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     boolean existsByIdAndManagerId(@Param("projectId") Long projectId,
                                    @Param("userId") Long userId);
 
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Project p WHERE p.id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT new org.codewithzea.trackerboost.optimize.ProjectListDTO(p.id, p.name, p.status) FROM Project p")
     Page<ProjectListDTO> findAllSummaries(Pageable pageable);
+
+    // Anti-join on tasks.project_id; projects only, no manager or task rows are loaded
+    @Query(value = "SELECT new org.codewithzea.trackerboost.optimize.ProjectListDTO(p.id, p.name, p.status) " +
+            "FROM Project p WHERE NOT EXISTS (SELECT 1 FROM Task t WHERE t.project.id = p.id)",
+            countQuery = "SELECT COUNT(p) FROM Project p WHERE NOT EXISTS (SELECT 1 FROM Task t WHERE t.project.id = p.id)")
+    Page<ProjectListDTO> findSummariesWithoutTasks(Pageable pageable);
+
+    @Query("SELECT new org.codewithzea.trackerboost.optimize.ProjectListDTO(p.id, p.name, p.status) " +
+            "FROM Project p WHERE p.id IN :ids ORDER BY p.id")
+    List<ProjectListDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * One row per task status of the project: status, task count, overdue count,
+     * earliest upcoming open due date and the project-wide distinct assignee count.
+     * The left join yields a single row with a null status for a project without
+     * tasks, and no rows when the project does not exist.
+     */
+    @Query("SELECT t.status, COUNT(t), " +
+            "SUM(CASE WHEN t.dueDate < :today AND t.status <> org.codewithzea.trackerboost.task.TaskStatus.DONE THEN 1 ELSE 0 END), " +
+            "MIN(CASE WHEN t.dueDate >= :today AND t.status <> org.codewithzea.trackerboost.task.TaskStatus.DONE THEN t.dueDate END), " +
+            "(SELECT COUNT(DISTINCT d.id) FROM Task t2 JOIN t2.assignedDevelopers d WHERE t2.project.id = :projectId) " +
+            "FROM Project p LEFT JOIN p.tasks t WHERE p.id = :projectId GROUP BY t.status")
+    List<Object[]> findProjectStats(@Param("projectId") Long projectId, @Param("today") LocalDate today);
+
+    // Every project with its task count, zero included
+    @Query("SELECT p.id, COUNT(t.id) FROM Project p LEFT JOIN p.tasks t GROUP BY p.id")
+    List<Object[]> countTasksPerProject();
 }
 
 
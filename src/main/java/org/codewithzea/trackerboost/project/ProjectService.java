@@ -4,6 +4,10 @@ package org.codewithzea.trackerboost.project;
 
 import org.codewithzea.trackerboost.audit.AuditLogService;
 import org.codewithzea.trackerboost.optimize.ProjectListDTO;
+import org.codewithzea.trackerboost.task.TaskRepository;
+import org.codewithzea.trackerboost.task.TaskSnapshot;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.task.TasksDeletedEvent;
 import org.codewithzea.trackerboost.user.Role;
 import org.codewithzea.trackerboost.user.UserEntity;
 import org.codewithzea.trackerboost.user.UserRepository;
@@ -13,16 +17,20 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,29 +40,57 @@ public class ProjectService {
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
 
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final ProjectCacheGenerations cacheGenerations;
+    private final ProjectTaskCounts projectTaskCounts;
+    private final ProjectBatchLoader projectBatchLoader;
 
-    @Cacheable(value = "projects", key = "#id")
+    static final int MAX_IDS_PER_REQUEST = 200;
+
+    // Concurrent misses for different ids share one IN query through the batch loader
+    @Cacheable(value = "projects", key = "#id", sync = true)
     public ProjectDTO getProjectById(Long id) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + id));
-        return MapperUtil.toProjectDTO(project);
+        ProjectDTO project = projectBatchLoader.load(id);
+        if (project == null) {
+            throw new ResourceNotFoundException("Project not found with id " + id);
+        }
+        return project;
     }
 
-    @Cacheable(value = "allProjects", key = "#pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    public List<ProjectDTO> getProjectsByIds(List<Long> ids) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " ids per request, got " + ids.size());
+        }
+        return projectBatchLoader.getAll(ids);
+    }
+
+    /**
+     * Pages are cached as {@link CachedProjectPage}, not as {@code PageImpl}: smaller on
+     * the heap, binary in Redis, and rebuilt around the caller's {@code Pageable}. Keys
+     * carry the list generation; {@code Cache.get(key, loader)} lets one caller load a
+     * missing page while the rest wait.
+     */
     public Page<ProjectDTO> getAllProjects(Pageable pageable) {
+        Cache cache = cacheManager.getCache(ProjectCacheGenerations.ALL_PROJECTS);
+        if (cache == null) {
+            return loadProjectPage(pageable);
+        }
+        String key = cacheGenerations.current(ProjectCacheGenerations.ALL_PROJECTS) + ":"
+                + pageable.getPageNumber() + "-" + pageable.getPageSize() + "-" + pageable.getSort();
+        CachedProjectPage cached = cache.get(key, () -> CachedProjectPage.of(loadProjectPage(pageable)));
+        return cached.toPage(pageable);
+    }
+
+    private Page<ProjectDTO> loadProjectPage(Pageable pageable) {
         return projectRepository.findAll(pageable).map(MapperUtil::toProjectDTO);
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "projects", allEntries = true),
-            @CacheEvict(value = "allProjects", allEntries = true),
-            @CacheEvict(value = "projectSummaries", allEntries = true),
-            @CacheEvict(value = "projectsWithoutTasks", allEntries = true)
-    })
     public ProjectDTO createProject(ProjectDTO dto) throws Exception {
         if (dto.managerId() == null) {
             throw new IllegalArgumentException("Manager ID must be provided");
@@ -87,61 +123,118 @@ public class ProjectService {
                     "Serialization error: " + e.getMessage());
         }
 
+        eventPublisher.publishEvent(new ProjectChangedEvent(saved.getId(), false));
         return MapperUtil.toProjectDTO(saved);
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "projects", key = "#id"),
-            @CacheEvict(value = "allProjects", allEntries = true),
-            @CacheEvict(value = "projectSummaries", allEntries = true),
-            @CacheEvict(value = "projectsWithoutTasks", allEntries = true)
-    })
     public ProjectDTO updateProject(Long id, ProjectDTO dto) throws Exception {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + id));
 
+        ProjectDTO before = MapperUtil.toProjectDTO(project);
         project.setName(dto.name());
         project.setDescription(dto.description());
         project.setDeadline(dto.deadline());
         project.setStatus(ProjectStatus.valueOf(dto.status()));
 
         Project updated = projectRepository.save(project);
+        ProjectDTO after = MapperUtil.toProjectDTO(updated);
+        auditLogService.logChange("Project", updated.getId().toString(), before, after);
 
-        try {
-            String payload = objectMapper.writeValueAsString(updated);
-            auditLogService.log("UPDATE", "Project", updated.getId().toString(), payload);
-        } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize project for audit log", e);
-            auditLogService.log("UPDATE", "Project", updated.getId().toString(),
-                    "Serialization error: " + e.getMessage());
-        }
-
-        return MapperUtil.toProjectDTO(updated);
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, false));
+        return after;
     }
 
+    /**
+     * Set-based delete: three DELETE statements (task_developer, tasks, projects) in one
+     * transaction instead of Hibernate loading and cascading every task. The audit trail
+     * gets one summary record, and one {@link TasksDeletedEvent} carries the removed
+     * tasks to the caches and in-memory counters.
+     */
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "projects", key = "#id"),
-            @CacheEvict(value = "allProjects", allEntries = true),
-            @CacheEvict(value = "projectSummaries", allEntries = true),
-            @CacheEvict(value = "projectsWithoutTasks", allEntries = true),
-            @CacheEvict(value = "projectTasks", allEntries = true)
-    })
     public void deleteProject(Long id) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + id));
+        if (!projectRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Project not found with id " + id);
+        }
+
+        List<TaskSnapshot> tasks = TaskSnapshot.fromProjectRows(id, taskRepository.findSnapshotRowsByProjectId(id));
+        int links = tasks.stream().mapToInt(task -> task.developerIds().size()).sum();
+        int deletedTasks = taskRepository.deleteAllByProjectIdInBulk(id);
+        projectRepository.deleteByIdInBulk(id);
 
-        projectRepository.delete(project);
-        auditLogService.log("DELETE", "Project", id.toString(), "");
+        auditLogService.log("DELETE", "Project", id.toString(),
+                "{\"tasksDeleted\":" + deletedTasks + ",\"taskDeveloperLinksDeleted\":" + links + "}");
+        logger.info("Deleted project {} with {} tasks and {} developer links", id, deletedTasks, links);
+
+        if (!tasks.isEmpty()) {
+            eventPublisher.publishEvent(new TasksDeletedEvent(id, tasks));
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, true));
     }
 
-    @Cacheable(value = "projectSummaries", key = "#pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    @Cacheable(value = "projectSummaries", sync = true,
+            key = "@projectCacheGenerations.current('projectSummaries') + ':' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
     public Page<ProjectListDTO> getAllProjectSummaries(Pageable pageable) {
         return projectRepository.findAllSummaries(pageable);
     }
 
-    @Cacheable(value = "projectsWithoutTasks")
+    /**
+     * Task counts by status, overdue count, next due date and assignee count for one
+     * project, from a single grouped query. Evicted by task writes (TaskCacheEvictor)
+     * and cleared at the overdue rollover.
+     */
+    @Cacheable(value = "projectStats", key = "#id", sync = true)
+    public ProjectStatsDTO getProjectStats(Long id) {
+        List<Object[]> rows = projectRepository.findProjectStats(id, LocalDate.now());
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Project not found with id " + id);
+        }
+        Map<String, Long> byStatus = new TreeMap<>();
+        long total = 0;
+        long overdue = 0;
+        LocalDate nextDueDate = null;
+        long assignees = 0;
+        for (Object[] row : rows) {
+            assignees = ((Number) row[4]).longValue();
+            if (row[0] == null) {
+                continue;
+            }
+            long count = ((Number) row[1]).longValue();
+            byStatus.put(((TaskStatus) row[0]).name(), count);
+            total += count;
+            overdue += ((Number) row[2]).longValue();
+            LocalDate due = (LocalDate) row[3];
+            if (due != null && (nextDueDate == null || due.isBefore(nextDueDate))) {
+                nextDueDate = due;
+            }
+        }
+        return new ProjectStatsDTO(id, total, byStatus, overdue, nextDueDate, assignees);
+    }
+
+    /**
+     * Paged summaries of projects that have no tasks. In id order the empty set comes
+     * from {@link ProjectTaskCounts} and only the page's rows are read; any other sort,
+     * or a cold start, falls back to the NOT EXISTS query.
+     */
+    public Page<ProjectListDTO> getProjectSummariesWithoutTasks(Pageable pageable) {
+        if (!projectTaskCounts.isSeeded() || !isIdOrder(pageable.getSort())) {
+            return projectRepository.findSummariesWithoutTasks(pageable);
+        }
+        int total = projectTaskCounts.emptyProjectCount();
+        List<Long> pageIds = projectTaskCounts.emptyProjectIds(pageable.getOffset(), pageable.getPageSize());
+        List<ProjectListDTO> content = pageIds.isEmpty()
+                ? List.of()
+                : projectRepository.findSummariesByIdIn(pageIds);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static boolean isIdOrder(Sort sort) {
+        return sort.isUnsorted() || sort.equals(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Cacheable(value = "projectsWithoutTasks", sync = true,
+            key = "@projectCacheGenerations.current('projectsWithoutTasks')")
     public List<ProjectDTO> findProjectsWithoutTasks() {
         return projectRepository.findProjectsWithoutTasks().stream()
                 .map(MapperUtil::toProjectDTO)
@@ -0,0 +1,21 @@
+package org.codewithzea.trackerboost.project;
+
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Dashboard card for one project, built from {@link ProjectRepository#findProjectStats}.
+ * {@code nextDueDate} is the earliest due date of an open task that is not yet overdue.
+ */
+public record ProjectStatsDTO(
+        Long projectId,
+        long totalTasks,
+        Map<String, Long> tasksByStatus,
+        long overdueTasks,
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate nextDueDate,
+        long assigneeCount
+) {}
@@ -0,0 +1,188 @@
+package org.codewithzea.trackerboost.project;
+
+
+import org.codewithzea.trackerboost.task.TaskChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory number of tasks per project, so "does this project have tasks?" needs no
+ * query. Seeded once the app is ready, moved by committed task and project events, and
+ * reconciled on a schedule to pick up writes that bypass the services. Projects at zero
+ * are also kept in a sorted set, so a page of empty projects is read without sorting.
+ * Writers hold the monitor; readers do not. The reconcile query runs without it, and
+ * events committed while it runs are replayed onto its result before the swap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectTaskCounts {
+
+    private final ProjectRepository projectRepository;
+    private final Map<Long, Long> counts = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> emptyIds = new ConcurrentSkipListSet<>();
+    private volatile int emptyCount;
+    private final Lock reconcileLock = new ReentrantLock();
+    // Non-null while a reconcile query runs
+    private List<Runnable> pendingDuringReconcile;
+    private volatile boolean seeded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Long from = event.before() != null ? event.before().projectId() : null;
+        Long to = event.after() != null ? event.after().projectId() : null;
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        apply(() -> {
+            if (from != null) {
+                set(from, counts.getOrDefault(from, 0L) - 1);
+            }
+            if (to != null) {
+                set(to, counts.getOrDefault(to, 0L) + 1);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        apply(() -> {
+            if (event.deleted()) {
+                remove(event.projectId());
+            } else if (!counts.containsKey(event.projectId())) {
+                set(event.projectId(), 0);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.projects.task-counts.reconcile-interval:PT5M}",
+            initialDelayString = "${app.projects.task-counts.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            reconcileWithDatabase();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void reconcileWithDatabase() {
+        synchronized (this) {
+            pendingDuringReconcile = new ArrayList<>();
+        }
+        Map<Long, Long> actual = new HashMap<>();
+        try {
+            for (Object[] row : projectRepository.countTasksPerProject()) {
+                actual.put((Long) row[0], (Long) row[1]);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDuringReconcile = null;
+            }
+            throw e;
+        }
+        long corrected = 0;
+        synchronized (this) {
+            Map<Long, Long> before = new HashMap<>(counts);
+            for (Map.Entry<Long, Long> entry : actual.entrySet()) {
+                set(entry.getKey(), entry.getValue());
+            }
+            for (Long projectId : new ArrayList<>(counts.keySet())) {
+                if (!actual.containsKey(projectId)) {
+                    remove(projectId);
+                }
+            }
+            // Committed after the query started, so its rows cannot include them
+            pendingDuringReconcile.forEach(Runnable::run);
+            pendingDuringReconcile = null;
+            for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+                if (!entry.getValue().equals(before.get(entry.getKey()))) {
+                    corrected++;
+                }
+            }
+        }
+        if (seeded && corrected > 0) {
+            log.warn("Corrected task counts of {} projects from the database", corrected);
+        }
+        seeded = true;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long taskCount(Long projectId) {
+        return Math.max(counts.getOrDefault(projectId, 0L), 0);
+    }
+
+    public boolean hasTasks(Long projectId) {
+        return taskCount(projectId) > 0;
+    }
+
+    public int emptyProjectCount() {
+        return emptyCount;
+    }
+
+    /**
+     * Ids of known projects without tasks, ascending, skipping the first {@code offset}.
+     */
+    public List<Long> emptyProjectIds(long offset, int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, emptyCount));
+        Iterator<Long> it = emptyIds.iterator();
+        for (long skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (ids.size() < limit && it.hasNext()) {
+            ids.add(it.next());
+        }
+        return ids;
+    }
+
+    private synchronized void apply(Runnable change) {
+        change.run();
+        if (pendingDuringReconcile != null) {
+            pendingDuringReconcile.add(change);
+        }
+    }
+
+    private void set(Long projectId, long count) {
+        counts.put(projectId, count);
+        if (count <= 0) {
+            if (emptyIds.add(projectId)) {
+                emptyCount++;
+            }
+        } else if (emptyIds.remove(projectId)) {
+            emptyCount--;
+        }
+    }
+
+    private void remove(Long projectId) {
+        counts.remove(projectId);
+        if (emptyIds.remove(projectId)) {
+            emptyCount--;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.codewithzea.trackerboost.task;
+
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ids of all open (not DONE) tasks bucketed by due date. Overdue tasks are the
+ * buckets strictly before today, already in (dueDate, id) order, so answering
+ * "what is overdue" never scans the tasks table. Kept current by committed
+ * {@link TaskChangedEvent}s; the midnight roll-over rebuilds from the database
+ * and drops the cached overdue list, since that is the only time the answer
+ * changes without a write. Writers are serialized; readers are lock-free.
+ * Each bucket keeps its own size and the overdue total for the current day is kept
+ * up to date, since {@code ConcurrentSkipListSet.size()} walks the whole set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OverdueTaskIndex {
+
+    private final TaskRepository taskRepository;
+    private final CacheManager cacheManager;
+
+    private volatile ConcurrentSkipListMap<LocalDate, DueDateBucket> openByDueDate = new ConcurrentSkipListMap<>();
+    private volatile Map<Long, LocalDate> dueDateById = new ConcurrentHashMap<>();
+    private volatile OverdueTotal overdueTotal;
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.tasks.overdue.rollover-cron:0 0 0 * * *}")
+    public void rollOver() {
+        rebuild();
+        // Project stats carry overdue counts and next due dates relative to today
+        for (String cacheName : new String[]{"overdueTasks", "projectStats"}) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    public synchronized void rebuild() {
+        ConcurrentSkipListMap<LocalDate, DueDateBucket> byDueDate = new ConcurrentSkipListMap<>();
+        Map<Long, LocalDate> byId = new ConcurrentHashMap<>();
+        for (Object[] row : taskRepository.findOpenTaskDueDates()) {
+            Long id = (Long) row[0];
+            LocalDate dueDate = (LocalDate) row[1];
+            DueDateBucket bucket = byDueDate.computeIfAbsent(dueDate, d -> new DueDateBucket());
+            if (bucket.ids.add(id)) {
+                bucket.size++;
+            }
+            byId.put(id, dueDate);
+        }
+        LocalDate today = LocalDate.now();
+        // Swap whole structures so readers never see a half-built index
+        openByDueDate = byDueDate;
+        dueDateById = byId;
+        overdueTotal = new OverdueTotal(today, sumSizes(byDueDate, today));
+        built = true;
+        log.info("Rebuilt overdue task index: {} open tasks across {} due dates", byId.size(), byDueDate.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        if (event.before() != null) {
+            remove(event.before().id());
+        }
+        TaskSnapshot after = event.after();
+        if (after != null && after.dueDate() != null && after.status() != TaskStatus.DONE) {
+            add(after.id(), after.dueDate());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onTasksDeleted(TasksDeletedEvent event) {
+        for (TaskSnapshot task : event.tasks()) {
+            remove(task.id());
+        }
+    }
+
+    public int countOverdue(LocalDate today) {
+        ensureBuilt();
+        OverdueTotal total = overdueTotal;
+        if (total != null && total.today().equals(today)) {
+            return total.count();
+        }
+        return sumSizes(openByDueDate, today);
+    }
+
+    public List<Long> overdueIds(LocalDate today) {
+        return overdueIds(today, 0, Integer.MAX_VALUE);
+    }
+
+    // Ids in (dueDate, id) order, skipping whole buckets until the offset is reached
+    public List<Long> overdueIds(LocalDate today, long offset, int limit) {
+        ensureBuilt();
+        List<Long> result = new ArrayList<>(Math.min(limit, 1024));
+        long skip = offset;
+        for (DueDateBucket bucket : openByDueDate.headMap(today, false).values()) {
+            int size = bucket.size;
+            if (skip >= size) {
+                skip -= size;
+                continue;
+            }
+            for (Long id : bucket.ids) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(id);
+                if (result.size() == limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void add(Long id, LocalDate dueDate) {
+        remove(id);
+        DueDateBucket bucket = openByDueDate.computeIfAbsent(dueDate, d -> new DueDateBucket());
+        if (bucket.ids.add(id)) {
+            bucket.size++;
+            adjustOverdueTotal(dueDate, 1);
+        }
+        dueDateById.put(id, dueDate);
+    }
+
+    private void remove(Long id) {
+        LocalDate dueDate = dueDateById.remove(id);
+        if (dueDate == null) {
+            return;
+        }
+        DueDateBucket bucket = openByDueDate.get(dueDate);
+        if (bucket != null && bucket.ids.remove(id)) {
+            bucket.size--;
+            adjustOverdueTotal(dueDate, -1);
+            if (bucket.size == 0) {
+                openByDueDate.remove(dueDate, bucket);
+            }
+        }
+    }
+
+    private void adjustOverdueTotal(LocalDate dueDate, int delta) {
+        OverdueTotal total = overdueTotal;
+        if (total != null && dueDate.isBefore(total.today())) {
+            overdueTotal = new OverdueTotal(total.today(), total.count() + delta);
+        }
+    }
+
+    private static int sumSizes(ConcurrentSkipListMap<LocalDate, DueDateBucket> byDueDate, LocalDate today) {
+        int count = 0;
+        for (DueDateBucket bucket : byDueDate.headMap(today, false).values()) {
+            count += bucket.size;
+        }
+        return count;
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    // Ids are changed only by serialized writers, which keep size in step
+    private static final class DueDateBucket {
+        final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        volatile int size;
+    }
+
+    private record OverdueTotal(LocalDate today, int count) {}
+}
@@ -15,12 +15,18 @@ import java.time.LocalDate;
 import java.util.*;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_status_due_date", columnList = "status, due_date"),
+        @Index(name = "idx_tasks_project_status", columnList = "project_id, status"),
+        @Index(name = "idx_tasks_due_date_id", columnList = "due_date, id")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Task {
 
+    // Sequence ids (pooled by 50) so Hibernate can batch INSERTs; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank @Size(max = 150)
@@ -29,8 +35,10 @@ public class Task {
     @Size(max = 500)
     private String description;
 
-    @NotBlank
-    private String status;  // e.g., "PENDING", "IN_PROGRESS", "DONE"
+    @NotNull
+    @Convert(converter = TaskStatusConverter.class)
+    @Column(nullable = false)
+    private TaskStatus status;  // smallint code, see TaskStatus
 
     @NotNull
     private LocalDate dueDate;
@@ -45,7 +53,9 @@ public class Task {
     @JoinTable(
             name = "task_developer",
             joinColumns = @JoinColumn(name = "task_id"),
-            inverseJoinColumns = @JoinColumn(name = "developer_id")
+            inverseJoinColumns = @JoinColumn(name = "developer_id"),
+            // The primary key leads with task_id; lookups by developer need the reverse order
+            indexes = @Index(name = "idx_task_developer_developer_task", columnList = "developer_id, task_id")
     )
     private Set<Developer> assignedDevelopers = new HashSet<>();
 }
@@ -0,0 +1,70 @@
+package org.codewithzea.trackerboost.task;
+
+
+import org.codewithzea.trackerboost.util.MapperUtil;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Fetch plan for task read paths: tasks are loaded first, then the developer ids
+ * for the whole batch come from a single query against {@code task_developer}.
+ * The lazy {@code assignedDevelopers} collection is only read when it is already
+ * initialized (e.g. a task that was just saved), so a page of N tasks costs a
+ * constant number of statements instead of N + 1.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskAssembler {
+
+    private final TaskRepository taskRepository;
+
+    public TaskDTO toDTO(Task task) {
+        if (task == null) return null;
+        return toDTOs(List.of(task)).get(0);
+    }
+
+    public Page<TaskDTO> toDTOs(Page<Task> page) {
+        Map<Long, Set<Long>> developerIds = loadDeveloperIds(page.getContent());
+        return page.map(task -> toDTO(task, developerIds));
+    }
+
+    public List<TaskDTO> toDTOs(Slice<Task> slice) {
+        return toDTOs(slice.getContent());
+    }
+
+    public List<TaskDTO> toDTOs(List<Task> tasks) {
+        Map<Long, Set<Long>> developerIds = loadDeveloperIds(tasks);
+        return tasks.stream()
+                .map(task -> toDTO(task, developerIds))
+                .collect(Collectors.toList());
+    }
+
+    private TaskDTO toDTO(Task task, Map<Long, Set<Long>> developerIds) {
+        if (Hibernate.isInitialized(task.getAssignedDevelopers())) {
+            return MapperUtil.toTaskDTO(task);
+        }
+        return MapperUtil.toTaskDTO(task, developerIds.getOrDefault(task.getId(), new HashSet<>()));
+    }
+
+    private Map<Long, Set<Long>> loadDeveloperIds(List<Task> tasks) {
+        List<Long> uninitialized = tasks.stream()
+                .filter(task -> !Hibernate.isInitialized(task.getAssignedDevelopers()))
+                .map(Task::getId)
+                .collect(Collectors.toList());
+        if (uninitialized.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Set<Long>> result = new HashMap<>(uninitialized.size() * 2);
+        for (Object[] row : taskRepository.findDeveloperIdsByTaskIds(uninitialized)) {
+            result.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package org.codewithzea.trackerboost.task;
+
+
+/**
+ * Outcome of one item in a bulk task request. {@code index} is the item's position
+ * in the request body; {@code error} is only set when {@code status} is FAILED.
+ */
+public record TaskBatchResult(int index, Long id, Status status, String error) {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, FAILED
+    }
+
+    public static TaskBatchResult ok(int index, Long id, Status status) {
+        return new TaskBatchResult(index, id, status, null);
+    }
+
+    public static TaskBatchResult failed(int index, Long id, String error) {
+        return new TaskBatchResult(index, id, Status.FAILED, error);
+    }
+}
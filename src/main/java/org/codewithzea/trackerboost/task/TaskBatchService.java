@@ -0,0 +1,260 @@
+package org.codewithzea.trackerboost.task;
+
+
+import org.codewithzea.trackerboost.audit.AuditChange;
+import org.codewithzea.trackerboost.audit.AuditLogService;
+import org.codewithzea.trackerboost.developer.Developer;
+import org.codewithzea.trackerboost.developer.DeveloperRepository;
+import org.codewithzea.trackerboost.project.ProjectRepository;
+import org.codewithzea.trackerboost.util.MapperUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create/update/delete for tasks. Every batch resolves its projects, developers
+ * and tasks with one IN query each, lets Hibernate flush the rows as JDBC batches
+ * (see {@code hibernate.jdbc.batch_size}) and writes the audit trail with a single
+ * insertMany; updates are audited as versioned diffs, like single-task updates. Items that fail validation are reported and skipped; the rest commit
+ * together. Update and delete take the caller's id as {@code ownerId}: items for tasks
+ * not assigned to that developer fail, and null (admin) lifts the restriction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskBatchService {
+
+    static final int MAX_BATCH_SIZE = 5000;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final DeveloperRepository developerRepository;
+    private final AuditLogService auditLogService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<TaskBatchResult> createTasks(List<TaskDTO> dtos, String actorName) {
+        checkSize(dtos);
+        Set<Long> projectIds = existingProjectIds(dtos);
+        Map<Long, Developer> developers = loadDevelopers(dtos);
+
+        List<TaskBatchResult> results = new ArrayList<>(dtos.size());
+        List<Task> tasks = new ArrayList<>(dtos.size());
+        List<Integer> indexes = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            TaskDTO dto = dtos.get(i);
+            String error = validate(dto, projectIds, developers);
+            if (error != null) {
+                results.add(TaskBatchResult.failed(i, null, error));
+                continue;
+            }
+            Task task = new Task();
+            apply(dto, task, developers);
+            tasks.add(task);
+            indexes.add(i);
+        }
+
+        taskRepository.saveAll(tasks);
+
+        Map<String, String> payloads = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            results.add(TaskBatchResult.ok(indexes.get(i), task.getId(), TaskBatchResult.Status.CREATED));
+            payloads.put(task.getId().toString(), toPayload(task));
+            eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(task)));
+        }
+        auditLogService.logAll("CREATE", "Task", actorName, payloads);
+
+        log.info("Batch created {} of {} tasks", tasks.size(), dtos.size());
+        return sorted(results);
+    }
+
+    @Transactional
+    public List<TaskBatchResult> updateTasks(List<TaskDTO> dtos, String actorName, Long ownerId) {
+        checkSize(dtos);
+        Set<Long> projectIds = existingProjectIds(dtos);
+        Map<Long, Developer> developers = loadDevelopers(dtos);
+        Set<Long> taskIds = dtos.stream()
+                .map(TaskDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository.findAllWithDevelopersByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskBatchResult> results = new ArrayList<>(dtos.size());
+        List<AuditChange> changes = new ArrayList<>();
+        List<TaskChangedEvent> events = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            TaskDTO dto = dtos.get(i);
+            Task task = dto.getId() != null ? tasks.get(dto.getId()) : null;
+            String error = task == null
+                    ? "Task not found with id " + dto.getId()
+                    : !isOwner(task, ownerId)
+                    ? notAllowed(dto.getId())
+                    : !seen.add(dto.getId())
+                    ? "Duplicate task id " + dto.getId()
+                    : validate(dto, projectIds, developers);
+            if (error != null) {
+                results.add(TaskBatchResult.failed(i, dto.getId(), error));
+                continue;
+            }
+            TaskSnapshot before = TaskSnapshot.of(task);
+            TaskDTO beforeDto = MapperUtil.toTaskDTO(task);
+            apply(dto, task, developers);
+            results.add(TaskBatchResult.ok(i, task.getId(), TaskBatchResult.Status.UPDATED));
+            changes.add(new AuditChange(task.getId().toString(), beforeDto, MapperUtil.toTaskDTO(task)));
+            events.add(TaskChangedEvent.updated(before, TaskSnapshot.of(task)));
+        }
+
+        // Managed entities are flushed as ordered, batched UPDATEs at commit
+        auditLogService.logChanges("Task", actorName, changes);
+        events.forEach(eventPublisher::publishEvent);
+
+        log.info("Batch updated {} of {} tasks", events.size(), dtos.size());
+        return results;
+    }
+
+    @Transactional
+    public List<TaskBatchResult> deleteTasks(List<Long> ids, String actorName, Long ownerId) {
+        checkSize(ids);
+        Map<Long, Task> tasks = taskRepository.findAllWithDevelopersByIdIn(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        Set<Long> deleted = new LinkedHashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null || !tasks.containsKey(id)) {
+                results.add(TaskBatchResult.failed(i, id, "Task not found with id " + id));
+            } else if (!isOwner(tasks.get(id), ownerId)) {
+                results.add(TaskBatchResult.failed(i, id, notAllowed(id)));
+            } else if (!deleted.add(id)) {
+                results.add(TaskBatchResult.failed(i, id, "Duplicate task id " + id));
+            } else {
+                results.add(TaskBatchResult.ok(i, id, TaskBatchResult.Status.DELETED));
+            }
+        }
+
+        if (!deleted.isEmpty()) {
+            // Two set-based statements instead of a load + cascade per task
+            taskRepository.deleteDeveloperLinksByTaskIds(deleted);
+            taskRepository.deleteAllByIdInBatch(deleted);
+
+            Map<String, String> payloads = new LinkedHashMap<>();
+            for (Long id : deleted) {
+                payloads.put(id.toString(), "");
+                eventPublisher.publishEvent(TaskChangedEvent.deleted(TaskSnapshot.of(tasks.get(id))));
+            }
+            auditLogService.logAll("DELETE", "Task", actorName, payloads);
+        }
+
+        log.info("Batch deleted {} of {} tasks", deleted.size(), ids.size());
+        return results;
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size " + items.size() + " exceeds limit of " + MAX_BATCH_SIZE);
+        }
+    }
+
+    // Same rule as TaskSecurity.isTaskOwner, checked on the tasks the batch already loaded
+    private boolean isOwner(Task task, Long ownerId) {
+        return ownerId == null || task.getAssignedDevelopers().stream()
+                .anyMatch(developer -> developer.getId().equals(ownerId));
+    }
+
+    private String notAllowed(Long taskId) {
+        return "Not allowed to modify task " + taskId;
+    }
+
+    private Set<Long> existingProjectIds(List<TaskDTO> dtos) {
+        Set<Long> requested = dtos.stream()
+                .map(TaskDTO::getProjectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return requested.isEmpty() ? Set.of() : projectRepository.findExistingIds(requested);
+    }
+
+    private Map<Long, Developer> loadDevelopers(List<TaskDTO> dtos) {
+        Set<Long> requested = dtos.stream()
+                .map(TaskDTO::getAssignedDeveloperIds)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+        if (requested.isEmpty()) {
+            return Map.of();
+        }
+        return developerRepository.findAllWithUserByIdIn(requested).stream()
+                .collect(Collectors.toMap(Developer::getId, Function.identity()));
+    }
+
+    private String validate(TaskDTO dto, Set<Long> projectIds, Map<Long, Developer> developers) {
+        if (dto.getTitle() == null || dto.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        try {
+            TaskStatus.from(dto.getStatus());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        if (dto.getDueDate() == null) {
+            return "Due date is required";
+        }
+        if (dto.getProjectId() == null || !projectIds.contains(dto.getProjectId())) {
+            return "Project not found with id " + dto.getProjectId();
+        }
+        if (dto.getAssignedDeveloperIds() != null) {
+            for (Long devId : dto.getAssignedDeveloperIds()) {
+                if (!developers.containsKey(devId)) {
+                    return "Developer not found with id " + devId;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void apply(TaskDTO dto, Task task, Map<Long, Developer> developers) {
+        task.setTitle(dto.getTitle());
+        task.setDescription(dto.getDescription());
+        task.setStatus(TaskStatus.from(dto.getStatus()));
+        task.setDueDate(dto.getDueDate());
+        if (task.getProject() == null || !task.getProject().getId().equals(dto.getProjectId())) {
+            task.setProject(projectRepository.getReferenceById(dto.getProjectId()));
+        }
+        if (dto.getAssignedDeveloperIds() != null) {
+            Set<Developer> assigned = new HashSet<>();
+            for (Long devId : dto.getAssignedDeveloperIds()) {
+                assigned.add(developers.get(devId));
+            }
+            task.setAssignedDevelopers(assigned);
+        }
+    }
+
+    private String toPayload(Task task) {
+        try {
+            return objectMapper.writeValueAsString(MapperUtil.toTaskDTO(task));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize task {} for audit log", task.getId(), e);
+            return "Serialization error: " + e.getMessage();
+        }
+    }
+
+    private List<TaskBatchResult> sorted(List<TaskBatchResult> results) {
+        results.sort(Comparator.comparingInt(TaskBatchResult::index));
+        return results;
+    }
+}
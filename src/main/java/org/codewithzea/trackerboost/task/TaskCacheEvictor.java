@@ -0,0 +1,95 @@
+package org.codewithzea.trackerboost.task;
+
+
+import org.codewithzea.trackerboost.project.ProjectCacheGenerations;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Evicts exactly the task cache keys a write touched: the task itself, the old
+ * and new project, every developer and user assigned before or after, and the
+ * no-arg overdue entry only when the write can change it.
+ * Runs after commit so a concurrent reader cannot re-cache uncommitted state.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final ProjectCacheGenerations projectCacheGenerations;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+
+        evict("tasks", event.taskId());
+
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> developerIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (TaskSnapshot snapshot : new TaskSnapshot[]{before, after}) {
+            if (snapshot == null) continue;
+            projectIds.add(snapshot.projectId());
+            developerIds.addAll(snapshot.developerIds());
+            userIds.addAll(snapshot.userIds());
+        }
+        projectIds.forEach(id -> {
+            evict("projectTasks", id);
+            evict("projectStats", id);
+        });
+        if (before == null || after == null || !Objects.equals(before.projectId(), after.projectId())) {
+            // A project may have gained its first or lost its last task
+            projectCacheGenerations.bump(ProjectCacheGenerations.PROJECTS_WITHOUT_TASKS);
+        }
+        developerIds.forEach(id -> evict("developerTasks", id));
+        userIds.forEach(id -> evict("userTasks", id));
+
+        LocalDate today = LocalDate.now();
+        if ((before != null && before.isOverdue(today)) || (after != null && after.isOverdue(today))) {
+            evict("overdueTasks", SimpleKey.EMPTY);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        evict("projectTasks", event.projectId());
+        evict("projectStats", event.projectId());
+        Set<Long> developerIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        boolean overdue = false;
+        LocalDate today = LocalDate.now();
+        for (TaskSnapshot task : event.tasks()) {
+            evict("tasks", task.id());
+            developerIds.addAll(task.developerIds());
+            userIds.addAll(task.userIds());
+            overdue |= task.isOverdue(today);
+        }
+        developerIds.forEach(id -> evict("developerTasks", id));
+        userIds.forEach(id -> evict("userTasks", id));
+        if (overdue) {
+            evict("overdueTasks", SimpleKey.EMPTY);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        if (key == null) return;
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+            log.debug("Evicted {}::{}", cacheName, key);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.codewithzea.trackerboost.task;
+
+
+import java.util.Objects;
+
+/**
+ * Published by {@link TaskService} for every task write. {@code before} is null
+ * for a create and {@code after} is null for a delete.
+ */
+public record TaskChangedEvent(TaskSnapshot before, TaskSnapshot after) {
+
+    public static TaskChangedEvent created(TaskSnapshot after) {
+        return new TaskChangedEvent(null, after);
+    }
+
+    public static TaskChangedEvent updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangedEvent(before, after);
+    }
+
+    public static TaskChangedEvent deleted(TaskSnapshot before) {
+        return new TaskChangedEvent(before, null);
+    }
+
+    public Long taskId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public boolean statusChanged() {
+        return before == null || after == null || !Objects.equals(before.status(), after.status());
+    }
+}
@@ -6,6 +6,7 @@ package org.codewithzea.trackerboost.task;
 
 
 
+import org.codewithzea.trackerboost.optimize.TaskSummaryDTO;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,10 +14,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 import java.util.List;
@@ -28,7 +32,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskExportService taskExportService;
     private final TaskSecurity taskSecurity;
 
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
@@ -48,6 +56,21 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
+    @GetMapping("/scroll")
+    public ResponseEntity<TaskCursorPage> scrollTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "asc") String direction) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.info("Scrolling tasks - Cursor: {}, Size: {}, Direction: {}", cursor, size, direction);
+        TaskCursorPage tasks = taskService.getTasksAfter(cursor, size, direction.equalsIgnoreCase("desc"));
+        log.debug("Retrieved {} tasks, hasNext: {}", tasks.size(), tasks.hasNext());
+        return ResponseEntity.ok(tasks);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
@@ -66,6 +89,23 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
+    @GetMapping(value = "/project/{projectId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasksByProjectId(@PathVariable Long projectId) {
+        log.info("Streaming tasks for project ID: {}", projectId);
+        StreamingResponseBody body = out -> taskExportService.exportByProjectId(projectId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
+    @GetMapping("/project/{projectId}/summary")
+    public ResponseEntity<List<TaskSummaryDTO>> getTaskSummariesByProjectId(@PathVariable Long projectId) {
+        log.info("Fetching task summaries for project ID: {}", projectId);
+        List<TaskSummaryDTO> tasks = taskService.getTaskSummariesByProjectId(projectId);
+        log.debug("Retrieved {} task summaries for project", tasks.size());
+        return ResponseEntity.ok(tasks);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
     @GetMapping("/developer/{developerId}")
     public ResponseEntity<List<TaskDTO>> getTasksByDeveloperId(@PathVariable Long developerId) {
@@ -75,6 +115,14 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
+    @GetMapping(value = "/developer/{developerId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasksByDeveloperId(@PathVariable Long developerId) {
+        log.info("Streaming tasks assigned to developer ID: {}", developerId);
+        StreamingResponseBody body = out -> taskExportService.exportByDeveloperId(developerId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping("/overdue")
     public ResponseEntity<List<TaskDTO>> getOverdueTasks() {
@@ -84,6 +132,20 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/overdue/page")
+    public ResponseEntity<Page<TaskDTO>> getOverdueTasksPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.info("Fetching overdue tasks - Page: {}, Size: {}", page, size);
+        Page<TaskDTO> tasks = taskService.getOverdueTasks(PageRequest.of(page, size));
+        log.debug("Returning {} of {} overdue tasks", tasks.getNumberOfElements(), tasks.getTotalElements());
+        return ResponseEntity.ok(tasks);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @PostMapping
     public ResponseEntity<TaskDTO> createTask(@Valid @RequestBody TaskDTO dto) throws Exception {
@@ -93,6 +155,35 @@ public class TaskController {
         return ResponseEntity.ok(createdTask);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> createTasks(@RequestBody List<TaskDTO> dtos, Principal principal) {
+        log.info("User '{}' creating {} tasks in batch", principal.getName(), dtos.size());
+        List<TaskBatchResult> results = taskBatchService.createTasks(dtos, principal.getName());
+        log.debug("Batch create results: {}", results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
+    @PutMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> updateTasks(@RequestBody List<TaskDTO> dtos, Authentication authentication) {
+        log.info("User '{}' updating {} tasks in batch", authentication.getName(), dtos.size());
+        List<TaskBatchResult> results = taskBatchService.updateTasks(dtos, authentication.getName(),
+                taskSecurity.batchOwnerId(authentication));
+        log.debug("Batch update results: {}", results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'DEVELOPER')")
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> deleteTasks(@RequestBody List<Long> ids, Authentication authentication) {
+        log.info("User '{}' deleting {} tasks in batch", authentication.getName(), ids.size());
+        List<TaskBatchResult> results = taskBatchService.deleteTasks(ids, authentication.getName(),
+                taskSecurity.batchOwnerId(authentication));
+        log.debug("Batch delete results: {}", results.size());
+        return ResponseEntity.ok(results);
+    }
+
     @PreAuthorize("@accessChecker.isTaskOwner(#id, authentication.principal.id) or hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @Valid @RequestBody TaskDTO dto) throws Exception {
@@ -0,0 +1,47 @@
+package org.codewithzea.trackerboost.task;
+
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of the last task returned by a keyset page. Clients only ever see
+ * the encoded form and hand it back unchanged to fetch the next page.
+ */
+public record TaskCursor(LocalDate dueDate, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public TaskCursor {
+        Objects.requireNonNull(dueDate, "Cursor due date cannot be null");
+        Objects.requireNonNull(id, "Cursor id cannot be null");
+    }
+
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getDueDate(), task.getId());
+    }
+
+    public String encode() {
+        String raw = dueDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid task cursor: " + token);
+            }
+            return new TaskCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid task cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.codewithzea.trackerboost.task;
+
+
+import java.util.List;
+
+/**
+ * Count-free page of tasks. {@code nextCursor} is null on the last page.
+ */
+public record TaskCursorPage(
+        List<TaskDTO> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+}
@@ -0,0 +1,71 @@
+package org.codewithzea.trackerboost.task;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes task lists as newline-delimited JSON straight from a database cursor.
+ * Only one row is materialized at a time, so memory stays flat regardless of how
+ * many tasks a project or developer has. Each export runs in its own read-only
+ * transaction because the JDBC cursor (and its fetch size) only lives that long.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportByProjectId(Long projectId, OutputStream out) throws IOException {
+        try (Stream<TaskView> views = taskRepository.streamViewsByProjectId(projectId)) {
+            long rows = writeNdjson(views, out);
+            log.info("Exported {} tasks for project {}", rows, projectId);
+            return rows;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportByDeveloperId(Long developerId, OutputStream out) throws IOException {
+        try (Stream<TaskView> views = taskRepository.streamViewsByDeveloperId(developerId)) {
+            long rows = writeNdjson(views, out);
+            log.info("Exported {} tasks for developer {}", rows, developerId);
+            return rows;
+        }
+    }
+
+    public long writeNdjson(Stream<TaskView> views, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+        // The response stream belongs to the container, so the generator must not close it
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            Iterator<TaskView> iterator = views.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next().toDTO());
+                generator.writeRaw('\n');
+                if (++rows % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -5,16 +5,32 @@ package org.codewithzea.trackerboost.task;
 
 
 
+import org.codewithzea.trackerboost.optimize.TaskSummaryDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    String TASK_VIEW_SELECT = "SELECT t.id AS id, t.title AS title, t.description AS description, " +
+            "t.status AS status, t.dueDate AS dueDate, t.project.id AS projectId, " +
+            "listagg(cast(d.id AS String), ',') AS developerIds " +
+            "FROM Task t LEFT JOIN t.assignedDevelopers d ";
+
+    String TASK_VIEW_GROUP_BY = " GROUP BY t.id, t.title, t.description, t.status, t.dueDate, t.project.id";
+
     // Find all tasks by project id
     List<Task> findByProjectId(Long projectId);
 
@@ -23,7 +39,8 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByDeveloperId(@Param("developerId") Long developerId);
 
     // Find overdue tasks
-    @Query("SELECT t FROM Task t WHERE t.dueDate < CURRENT_DATE AND t.status <> 'DONE'")
+    @Query("SELECT t FROM Task t WHERE t.dueDate < CURRENT_DATE " +
+            "AND t.status <> org.codewithzea.trackerboost.task.TaskStatus.DONE")
     List<Task> findOverdueTasks();
 
     // Task counts grouped by status
@@ -42,4 +59,86 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t JOIN FETCH t.assignedDevelopers d WHERE d.user.id = :userId")
     List<Task> findTasksWithDevelopersByUserId(@Param("userId") Long userId);
 
+    @Query("SELECT DISTINCT t FROM Task t JOIN t.assignedDevelopers d WHERE d.user.id = :userId")
+    List<Task> findByAssignedUserId(@Param("userId") Long userId);
+
+    // Projection read paths: rows go straight into TaskView, no managed entities
+    @Query(value = TASK_VIEW_SELECT + TASK_VIEW_GROUP_BY,
+            countQuery = "SELECT COUNT(t) FROM Task t")
+    Page<TaskView> findAllViews(Pageable pageable);
+
+    @Query(TASK_VIEW_SELECT + "WHERE t.project.id = :projectId" + TASK_VIEW_GROUP_BY)
+    List<TaskView> findViewsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(TASK_VIEW_SELECT +
+            "WHERE t.id IN (SELECT t2.id FROM Task t2 JOIN t2.assignedDevelopers d2 WHERE d2.id = :developerId)" +
+            TASK_VIEW_GROUP_BY)
+    List<TaskView> findViewsByDeveloperId(@Param("developerId") Long developerId);
+
+    // Cursor-backed streams for NDJSON export; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_VIEW_SELECT + "WHERE t.project.id = :projectId" + TASK_VIEW_GROUP_BY)
+    Stream<TaskView> streamViewsByProjectId(@Param("projectId") Long projectId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_VIEW_SELECT +
+            "WHERE t.id IN (SELECT t2.id FROM Task t2 JOIN t2.assignedDevelopers d2 WHERE d2.id = :developerId)" +
+            TASK_VIEW_GROUP_BY)
+    Stream<TaskView> streamViewsByDeveloperId(@Param("developerId") Long developerId);
+
+    @Query(TASK_VIEW_SELECT + "WHERE t.id IN :ids" + TASK_VIEW_GROUP_BY)
+    List<TaskView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // (id, dueDate) of every open task, used to seed OverdueTaskIndex
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.status <> org.codewithzea.trackerboost.task.TaskStatus.DONE")
+    List<Object[]> findOpenTaskDueDates();
+
+    @Query("SELECT new org.codewithzea.trackerboost.optimize.TaskSummaryDTO(t.id, t.title, t.status, t.dueDate) " +
+            "FROM Task t WHERE t.project.id = :projectId")
+    List<TaskSummaryDTO> findSummariesByProjectId(@Param("projectId") Long projectId);
+
+    // (taskId, developerId) pairs for a batch of tasks, read straight from the join table
+    @Query("SELECT t.id, d.id FROM Task t JOIN t.assignedDevelopers d WHERE t.id IN :taskIds")
+    List<Object[]> findDeveloperIdsByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    // Bulk write support: one IN query per batch instead of one lookup per item
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.assignedDevelopers d LEFT JOIN FETCH d.user " +
+            "WHERE t.id IN :ids")
+    List<Task> findAllWithDevelopersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_developer WHERE task_id IN :taskIds", nativeQuery = true)
+    int deleteDeveloperLinksByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    // Project delete: one row per task and assignee, enough to build TaskSnapshots
+    @Query("SELECT t.id, t.status, t.dueDate, d.id, u.id FROM Task t " +
+            "LEFT JOIN t.assignedDevelopers d LEFT JOIN d.user u WHERE t.project.id = :projectId")
+    List<Object[]> findSnapshotRowsByProjectId(@Param("projectId") Long projectId);
+
+    // Hibernate deletes the owned task_developer rows with a set-based DELETE first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
+    int deleteAllByProjectIdInBulk(@Param("projectId") Long projectId);
+
+    // Keyset (seek) pagination ordered by (dueDate, id); Slice results skip the COUNT(*)
+    @Query("SELECT t FROM Task t ORDER BY t.dueDate ASC, t.id ASC")
+    Slice<Task> findFirstByDueDateAsc(Pageable pageable);
+
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    Slice<Task> findAfterByDueDateAsc(@Param("dueDate") LocalDate dueDate,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("SELECT t FROM Task t ORDER BY t.dueDate DESC, t.id DESC")
+    Slice<Task> findFirstByDueDateDesc(Pageable pageable);
+
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.dueDate < :dueDate OR (t.dueDate = :dueDate AND t.id < :id) " +
+            "ORDER BY t.dueDate DESC, t.id DESC")
+    Slice<Task> findAfterByDueDateDesc(@Param("dueDate") LocalDate dueDate,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
 }
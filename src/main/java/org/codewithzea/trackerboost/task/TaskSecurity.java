@@ -32,4 +32,13 @@ public class TaskSecurity {
 
         return isOwner;
     }
+
+    /**
+     * Developer id that batch edits are restricted to, or null when an admin may touch any task.
+     */
+    public Long batchOwnerId(Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return admin ? null : ((UserEntity) authentication.getPrincipal()).getId();
+    }
 }
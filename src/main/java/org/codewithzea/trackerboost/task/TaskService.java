@@ -7,19 +7,26 @@ import org.codewithzea.trackerboost.audit.AuditLogService;
 import org.codewithzea.trackerboost.project.Project;
 import org.codewithzea.trackerboost.project.ProjectRepository;
 import org.codewithzea.trackerboost.exception.ResourceNotFoundException;
+import org.codewithzea.trackerboost.optimize.TaskSummaryDTO;
 import org.codewithzea.trackerboost.util.MapperUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,34 +39,84 @@ public class TaskService {
     private final DeveloperRepository developerRepository;
     private final AuditLogService auditLogService;
     private final ObjectMapper objectMapper;
+    private final TaskAssembler taskAssembler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatusCounters taskStatusCounters;
+    private final OverdueTaskIndex overdueTaskIndex;
 
+    // Ids bound per IN list when loading index results; keeps each statement well under
+    // PostgreSQL's 32767 bind parameters
+    @Value("${app.tasks.in-list-chunk-size:1000}")
+    private int inListChunkSize;
+
+    @Transactional(readOnly = true)
     public Page<TaskDTO> getAllTasks(Pageable pageable) {
-        return taskRepository.findAll(pageable)
-                .map(MapperUtil::toTaskDTO);
+        return taskRepository.findAllViews(pageable).map(TaskView::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskCursorPage getTasksAfter(String cursor, int size, boolean descending) {
+        Pageable limit = PageRequest.of(0, size);
+        Slice<Task> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = descending
+                    ? taskRepository.findFirstByDueDateDesc(limit)
+                    : taskRepository.findFirstByDueDateAsc(limit);
+        } else {
+            TaskCursor position = TaskCursor.decode(cursor);
+            slice = descending
+                    ? taskRepository.findAfterByDueDateDesc(position.dueDate(), position.id(), limit)
+                    : taskRepository.findAfterByDueDateAsc(position.dueDate(), position.id(), limit);
+        }
+
+        List<Task> tasks = slice.getContent();
+        String nextCursor = slice.hasNext() && !tasks.isEmpty()
+                ? TaskCursor.of(tasks.get(tasks.size() - 1)).encode()
+                : null;
+
+        return new TaskCursorPage(
+                taskAssembler.toDTOs(slice),
+                tasks.size(),
+                slice.hasNext(),
+                nextCursor);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(value = "tasks", key = "#id")
     public TaskDTO getTaskById(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
-        return MapperUtil.toTaskDTO(task);
+        return taskAssembler.toDTO(task);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(value = "projectTasks", key = "#projectId")
     public List<TaskDTO> getTasksByProjectId(Long projectId) {
-        return taskRepository.findByProjectId(projectId).stream()
-                .map(MapperUtil::toTaskDTO)
-                .collect(Collectors.toList());
+        return toDTOs(taskRepository.findViewsByProjectId(projectId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummaryDTO> getTaskSummariesByProjectId(Long projectId) {
+        return taskRepository.findSummariesByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(value = "developerTasks", key = "#developerId")
     public List<TaskDTO> getTasksByDeveloperId(Long developerId) {
-        return taskRepository.findByDeveloperId(developerId).stream()
-                .map(MapperUtil::toTaskDTO)
-                .collect(Collectors.toList());
+        return toDTOs(taskRepository.findViewsByDeveloperId(developerId));
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable("overdueTasks")
     public List<TaskDTO> getOverdueTasks() {
-        return taskRepository.findOverdueTasks().stream()
-                .map(MapperUtil::toTaskDTO)
-                .collect(Collectors.toList());
+        return loadInOrder(overdueTaskIndex.overdueIds(LocalDate.now()));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> getOverdueTasks(Pageable pageable) {
+        LocalDate today = LocalDate.now();
+        List<Long> ids = overdueTaskIndex.overdueIds(today, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(loadInOrder(ids), pageable, overdueTaskIndex.countOverdue(today));
     }
 
     @Transactional
@@ -71,7 +128,7 @@ public class TaskService {
             Task task = Task.builder()
                     .title(dto.getTitle())
                     .description(dto.getDescription())
-                    .status(dto.getStatus())
+                    .status(TaskStatus.from(dto.getStatus()))
                     .dueDate(dto.getDueDate())
                     .project(project)
                     .build();
@@ -82,9 +139,10 @@ public class TaskService {
 
             Task savedTask = taskRepository.save(task);
             logTaskCreation(savedTask);
+            eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(savedTask)));
 
             return MapperUtil.toTaskDTO(savedTask);
-        } catch (ResourceNotFoundException e) {
+        } catch (ResourceNotFoundException | IllegalArgumentException e) {
             throw e; // Re-throw business exceptions
         } catch (Exception e) {
             logger.error("Failed to create task", e);
@@ -98,12 +156,16 @@ public class TaskService {
             Task task = taskRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
 
+            TaskSnapshot before = TaskSnapshot.of(task);
+            TaskDTO beforeDto = MapperUtil.toTaskDTO(task);
             updateTaskProperties(dto, task);
             Task updatedTask = taskRepository.save(task);
-            logTaskUpdate(updatedTask);
+            TaskDTO updatedDto = MapperUtil.toTaskDTO(updatedTask);
+            auditLogService.logChange("Task", updatedTask.getId().toString(), beforeDto, updatedDto);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(updatedTask)));
 
-            return MapperUtil.toTaskDTO(updatedTask);
-        } catch (ResourceNotFoundException e) {
+            return updatedDto;
+        } catch (ResourceNotFoundException | IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
             logger.error("Failed to update task with id: " + id, e);
@@ -117,8 +179,10 @@ public class TaskService {
             Task task = taskRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
 
+            TaskSnapshot before = TaskSnapshot.of(task);
             taskRepository.delete(task);
             auditLogService.log("DELETE", "Task", id.toString(), actorName, "");
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(before));
         } catch (ResourceNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -127,22 +191,40 @@ public class TaskService {
         }
     }
 
+    // Served from in-memory counters; see TaskStatusCounters for seeding and reconciliation
     public Map<String, Long> getTaskCountsByStatus() {
-        try {
-            List<Object[]> counts = taskRepository.countTasksGroupedByStatus();
-            Map<String, Long> result = new HashMap<>();
+        return taskStatusCounters.snapshot();
+    }
 
-            for (Object[] obj : counts) {
-                String status = (String) obj[0];
-                Long count = (Long) obj[1];
-                result.put(status, count);
-            }
+    private List<TaskDTO> toDTOs(List<TaskView> views) {
+        List<TaskDTO> result = new ArrayList<>(views.size());
+        for (TaskView view : views) {
+            result.add(view.toDTO());
+        }
+        return result;
+    }
 
-            return result;
-        } catch (Exception e) {
-            logger.error("Failed to get task counts by status", e);
-            throw new RuntimeException("Failed to get task statistics", e);
+    // Index ids arrive in (dueDate, id) order; the grouped IN queries do not preserve it
+    private List<TaskDTO> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, TaskDTO> byId = new HashMap<>();
+        int chunkSize = Math.max(inListChunkSize, 1);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            for (TaskView view : taskRepository.findViewsByIdIn(chunk)) {
+                byId.put(view.getId(), view.toDTO());
+            }
+        }
+        List<TaskDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskDTO dto = byId.get(id);
+            if (dto != null) {
+                result.add(dto);
+            }
         }
+        return result;
     }
 
     private void assignDevelopersToTask(TaskDTO dto, Task task) {
@@ -158,7 +240,7 @@ public class TaskService {
     private void updateTaskProperties(TaskDTO dto, Task task) {
         task.setTitle(dto.getTitle());
         task.setDescription(dto.getDescription());
-        task.setStatus(dto.getStatus());
+        task.setStatus(TaskStatus.from(dto.getStatus()));
         task.setDueDate(dto.getDueDate());
 
         if (!task.getProject().getId().equals(dto.getProjectId())) {
@@ -183,36 +265,12 @@ public class TaskService {
         }
     }
 
-    private void logTaskUpdate(Task task) {
-        try {
-            String payload = objectMapper.writeValueAsString(task);
-            auditLogService.log("UPDATE", "Task", task.getId().toString(), payload);
-        } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize task for audit log", e);
-            auditLogService.log("UPDATE", "Task", task.getId().toString(),
-                    "Serialization error: " + e.getMessage());
-        }
-    }
-
 
+    @Transactional(readOnly = true)
+    @Cacheable(value = "userTasks", key = "#userId")
     public List<TaskDTO> getTasksByUserId(Long userId) {
-        return taskRepository.findTasksWithDevelopersByUserId(userId).stream()
-                .map(task -> {
-                    TaskDTO dto = new TaskDTO(
-                            task.getId(),
-                            task.getTitle(),
-                            task.getDescription(),
-                            task.getStatus(),
-                            task.getDueDate(),
-                            task.getProject().getId()
-                    );
-                    dto.setAssignedDeveloperIds(
-                            task.getAssignedDevelopers().stream()
-                                    .map(Developer::getId)
-                                    .collect(Collectors.toSet())
-                    );
-                    return dto;
-                })
-                .toList();
+        // Plain join, not JOIN FETCH: a fetch join filtered on the user would
+        // truncate assignedDevelopers to that user's developer only
+        return taskAssembler.toDTOs(taskRepository.findByAssignedUserId(userId));
     }
 }
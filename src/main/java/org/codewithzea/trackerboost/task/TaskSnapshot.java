@@ -0,0 +1,83 @@
+package org.codewithzea.trackerboost.task;
+
+
+import org.codewithzea.trackerboost.developer.Developer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable copy of the task fields that derived state (caches, counters, indexes)
+ * is keyed on, taken before and after a write.
+ */
+public record TaskSnapshot(
+        Long id,
+        Long projectId,
+        TaskStatus status,
+        LocalDate dueDate,
+        Set<Long> developerIds,
+        Set<Long> userIds
+) {
+
+    public static TaskSnapshot of(Task task) {
+        Set<Long> developerIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        if (task.getAssignedDevelopers() != null) {
+            for (Developer developer : task.getAssignedDevelopers()) {
+                developerIds.add(developer.getId());
+                if (developer.getUser() != null) {
+                    userIds.add(developer.getUser().getId());
+                }
+            }
+        }
+        return new TaskSnapshot(
+                task.getId(),
+                task.getProject() != null ? task.getProject().getId() : null,
+                task.getStatus(),
+                task.getDueDate(),
+                Collections.unmodifiableSet(developerIds),
+                Collections.unmodifiableSet(userIds));
+    }
+
+    /**
+     * Snapshots from {@link TaskRepository#findSnapshotRowsByProjectId} rows
+     * (task id, status, due date, developer id, user id), one row per assignee.
+     */
+    public static List<TaskSnapshot> fromProjectRows(Long projectId, List<Object[]> rows) {
+        Map<Long, Object[]> tasks = new LinkedHashMap<>();
+        Map<Long, Set<Long>> developerIds = new HashMap<>();
+        Map<Long, Set<Long>> userIds = new HashMap<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            tasks.putIfAbsent(id, row);
+            Set<Long> developers = developerIds.computeIfAbsent(id, k -> new HashSet<>());
+            Set<Long> users = userIds.computeIfAbsent(id, k -> new HashSet<>());
+            if (row[3] != null) {
+                developers.add((Long) row[3]);
+            }
+            if (row[4] != null) {
+                users.add((Long) row[4]);
+            }
+        }
+        List<TaskSnapshot> snapshots = new ArrayList<>(tasks.size());
+        tasks.forEach((id, row) -> snapshots.add(new TaskSnapshot(
+                id,
+                projectId,
+                (TaskStatus) row[1],
+                (LocalDate) row[2],
+                Collections.unmodifiableSet(developerIds.get(id)),
+                Collections.unmodifiableSet(userIds.get(id)))));
+        return snapshots;
+    }
+
+    public boolean isOverdue(LocalDate today) {
+        return dueDate != null && dueDate.isBefore(today) && status != TaskStatus.DONE;
+    }
+}
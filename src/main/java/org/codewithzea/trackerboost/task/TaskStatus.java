@@ -0,0 +1,49 @@
+package org.codewithzea.trackerboost.task;
+
+import java.util.Locale;
+
+/**
+ * Task workflow state. Stored as its {@code code} in a smallint column (see
+ * {@link TaskStatusConverter}); codes are part of the schema, so never reorder them.
+ */
+public enum TaskStatus {
+    PENDING((short) 0),
+    IN_PROGRESS((short) 1),
+    DONE((short) 2);
+
+    private final short code;
+
+    TaskStatus(short code) {
+        this.code = code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public boolean isOpen() {
+        return this != DONE;
+    }
+
+    public static TaskStatus fromCode(short code) {
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status code " + code);
+    }
+
+    // Accepts the strings clients have always sent ("DONE", "in_progress", "In Progress")
+    public static TaskStatus from(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Task status is required");
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown task status '" + value + "'");
+        }
+    }
+}
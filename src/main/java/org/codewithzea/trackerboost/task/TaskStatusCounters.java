@@ -0,0 +1,178 @@
+package org.codewithzea.trackerboost.task;
+
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory task counts per status. Seeded from the database once the app is ready,
+ * moved by committed {@link TaskChangedEvent}s, and reconciled on a schedule to pick
+ * up writes that bypass the service layer (cascades, manual SQL). The absolute
+ * difference found at the last reconcile is published as {@code tasks.status.counts.drift}.
+ * Events only take the read side of {@code swapLock}; the reconcile query runs without
+ * it, and the deltas committed while it runs are added to its result at the swap.
+ */
+@Slf4j
+@Component
+public class TaskStatusCounters {
+
+    private final TaskRepository taskRepository;
+    private final Map<TaskStatus, LongAdder> counts = new ConcurrentHashMap<>();
+    private final AtomicLong drift = new AtomicLong();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Lock reconcileLock = new ReentrantLock();
+    // Non-null while a reconcile query runs; guarded by swapLock
+    private Map<TaskStatus, LongAdder> sinceQuery;
+    private volatile boolean seeded;
+
+    public TaskStatusCounters(TaskRepository taskRepository, MeterRegistry registry) {
+        this.taskRepository = taskRepository;
+        Gauge.builder("tasks.status.counts.drift", drift, AtomicLong::get)
+                .tags(Tags.of("application", "project-tracker"))
+                .description("Absolute difference between in-memory and database task status counts at the last reconcile")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!event.statusChanged()) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            if (event.before() != null) {
+                add(event.before().status(), -1);
+            }
+            if (event.after() != null) {
+                add(event.after().status(), 1);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            for (TaskSnapshot task : event.tasks()) {
+                add(task.status(), -1);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.status-counts.reconcile-interval:PT5M}",
+            initialDelayString = "${app.tasks.status-counts.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            reconcileWithDatabase();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void reconcileWithDatabase() {
+        Map<TaskStatus, Long> actual = new HashMap<>();
+        long difference = 0;
+        setSinceQuery(new ConcurrentHashMap<>());
+        try {
+            for (Object[] row : taskRepository.countTasksGroupedByStatus()) {
+                actual.put((TaskStatus) row[0], (Long) row[1]);
+            }
+        } catch (RuntimeException e) {
+            setSinceQuery(null);
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            // Committed after the query started, so its result cannot include them
+            sinceQuery.forEach((status, delta) -> actual.merge(status, delta.sum(), Long::sum));
+            sinceQuery = null;
+            for (TaskStatus status : counts.keySet()) {
+                actual.putIfAbsent(status, 0L);
+            }
+            for (Map.Entry<TaskStatus, Long> entry : actual.entrySet()) {
+                LongAdder adder = adder(counts, entry.getKey());
+                long delta = entry.getValue() - adder.sum();
+                if (delta != 0) {
+                    adder.add(delta);
+                    difference += Math.abs(delta);
+                }
+            }
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        if (!seeded) {
+            // First load is the seed, not drift
+            seeded = true;
+            log.info("Seeded task status counters: {}", actual);
+            return;
+        }
+        drift.set(difference);
+        if (difference > 0) {
+            log.warn("Task status counters drifted by {} from the database; corrected", difference);
+        }
+    }
+
+    public Map<String, Long> snapshot() {
+        if (!seeded) {
+            reconcile();
+        }
+        Map<String, Long> result = new HashMap<>();
+        counts.forEach((status, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                result.put(status.name(), count);
+            }
+        });
+        return result;
+    }
+
+    // Caller holds the read side of swapLock
+    private void add(TaskStatus status, long delta) {
+        adder(counts, status).add(delta);
+        if (sinceQuery != null) {
+            adder(sinceQuery, status).add(delta);
+        }
+    }
+
+    private void setSinceQuery(Map<TaskStatus, LongAdder> journal) {
+        swapLock.writeLock().lock();
+        try {
+            sinceQuery = journal;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private static LongAdder adder(Map<TaskStatus, LongAdder> map, TaskStatus status) {
+        return map.computeIfAbsent(status, s -> new LongAdder());
+    }
+}
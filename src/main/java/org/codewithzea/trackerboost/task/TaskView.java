@@ -0,0 +1,44 @@
+package org.codewithzea.trackerboost.task;
+
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only projection of a task row. Developer ids are aggregated in SQL into a
+ * comma separated list, so no {@link Task} entity is ever materialized.
+ */
+public interface TaskView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    TaskStatus getStatus();
+
+    LocalDate getDueDate();
+
+    Long getProjectId();
+
+    String getDeveloperIds();
+
+    default TaskDTO toDTO() {
+        TaskDTO dto = new TaskDTO(getId(), getTitle(), getDescription(), getStatus().name(), getDueDate(), getProjectId());
+        dto.setAssignedDeveloperIds(parseIds(getDeveloperIds()));
+        return dto;
+    }
+
+    private static Set<Long> parseIds(String ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        return Arrays.stream(ids.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,12 @@
+package org.codewithzea.trackerboost.task;
+
+
+import java.util.List;
+
+/**
+ * Published instead of one {@link TaskChangedEvent} per task when a set-based delete
+ * removes every task of a project at once. Listeners that keep derived state apply
+ * all snapshots in one pass.
+ */
+public record TasksDeletedEvent(Long projectId, List<TaskSnapshot> tasks) {
+}
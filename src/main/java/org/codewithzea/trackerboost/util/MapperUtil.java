@@ -23,7 +23,7 @@ public class MapperUtil {
                 .description(project.getDescription())
                 .deadline(project.getDeadline())
                 .status(String.valueOf(project.getStatus()))
-                .managerId(project.getManager() != null ? project.getManager().getId() : null)
+                .managerId(project.getManagerId())
                 .build();
     }
 
@@ -70,11 +70,18 @@ public class MapperUtil {
                 .collect(Collectors.toSet())
                 : new HashSet<>();
 
+        return toTaskDTO(task, developerIds);
+    }
+
+    // Use when developer ids were bulk-loaded, so the lazy collection is never touched
+    public static TaskDTO toTaskDTO(Task task, Set<Long> developerIds) {
+        if (task == null) return null;
+
         return TaskDTO.builder()
                 .id(task.getId())
                 .title(task.getTitle())
                 .description(task.getDescription())
-                .status(task.getStatus())
+                .status(task.getStatus() != null ? task.getStatus().name() : null)
                 .dueDate(task.getDueDate())
                 .projectId(task.getProject().getId())
                 .assignedDeveloperIds(developerIds)
@@ -0,0 +1,11 @@
+-- Task ids move from IDENTITY to a pooled sequence so inserts can be JDBC-batched.
+-- On a fresh database Hibernate creates tasks_seq itself; here we only need to
+-- create it ahead of existing rows so the first allocated block cannot collide.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'tasks') THEN
+        CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+        PERFORM setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks));
+    END IF;
+END
+$$;
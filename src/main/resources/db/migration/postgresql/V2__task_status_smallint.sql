@@ -0,0 +1,23 @@
+-- Task.status moves from free-form varchar to a smallint code (see TaskStatus):
+-- PENDING = 0, IN_PROGRESS = 1, DONE = 2. Legacy spellings are normalized and
+-- anything unrecognized falls back to PENDING.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'tasks' AND column_name = 'status'
+                 AND data_type IN ('character varying', 'text')) THEN
+        ALTER TABLE tasks ALTER COLUMN status TYPE smallint USING (
+            CASE upper(replace(replace(trim(status), ' ', '_'), '-', '_'))
+                WHEN 'IN_PROGRESS' THEN 1
+                WHEN 'DONE' THEN 2
+                ELSE 0
+            END);
+        ALTER TABLE tasks ALTER COLUMN status SET NOT NULL;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'tasks') THEN
+        CREATE INDEX IF NOT EXISTS idx_tasks_status_due_date ON tasks (status, due_date);
+        CREATE INDEX IF NOT EXISTS idx_tasks_project_status ON tasks (project_id, status);
+    END IF;
+END
+$$;
@@ -0,0 +1,21 @@
+-- Indexes behind the hot repository predicates, mirrored by the entity @Index
+-- mappings. Versioned here so existing databases get them without relying on ddl-auto.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'tasks') THEN
+        CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id ON tasks (due_date, id);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'task_developer') THEN
+        CREATE INDEX IF NOT EXISTS idx_task_developer_developer_task ON task_developer (developer_id, task_id);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'developers') THEN
+        CREATE INDEX IF NOT EXISTS idx_developers_user_id ON developers (user_id);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'projects') THEN
+        CREATE INDEX IF NOT EXISTS idx_projects_manager_id ON projects (manager_id);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = '_user') THEN
+        CREATE INDEX IF NOT EXISTS idx_user_email ON _user (email);
+    END IF;
+END
+$$;
@@ -2,11 +2,18 @@ package org.codewithzea.trackerboost;
 
 
 
+import org.codewithzea.trackerboost.audit.AuditArchiver;
 import org.codewithzea.trackerboost.audit.AuditLog;
 import org.codewithzea.trackerboost.audit.AuditLogDTO;
 import org.codewithzea.trackerboost.audit.AuditLogRepository;
 import org.codewithzea.trackerboost.audit.AuditLogService;
+import org.codewithzea.trackerboost.audit.AuditLogEvent;
+import org.codewithzea.trackerboost.audit.AuditLogCursor;
+import org.codewithzea.trackerboost.audit.AuditLogPage;
+import org.codewithzea.trackerboost.audit.AuditLogQuery;
+import org.codewithzea.trackerboost.exception.ResourceNotFoundException;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.Test;
@@ -18,9 +25,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,6 +42,12 @@ class AuditLogServiceTest {
     @Mock
     private AuditLogRepository auditLogRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditArchiver auditArchiver;
+
     @Mock
     private ObjectMapper objectMapper;
 
@@ -39,7 +55,7 @@ class AuditLogServiceTest {
     private AuditLogService auditLogService;
 
     @Captor
-    private ArgumentCaptor<AuditLog> auditLogCaptor;
+    private ArgumentCaptor<AuditLogEvent> eventCaptor;
 
     private final String testActionType = "CREATE";
     private final String testEntityType = "Task";
@@ -53,8 +69,8 @@ class AuditLogServiceTest {
         auditLogService.log(testActionType, testEntityType, testEntityId, testActorName, testPayload);
 
         // Assert
-        verify(auditLogRepository).save(auditLogCaptor.capture());
-        AuditLog savedLog = auditLogCaptor.getValue();
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        AuditLog savedLog = eventCaptor.getValue().entries().get(0);
 
         assertAll(
                 () -> assertEquals(testActionType, savedLog.getActionType()),
@@ -72,8 +88,8 @@ class AuditLogServiceTest {
         auditLogService.log(testActionType, testEntityType, testEntityId, testPayload);
 
         // Assert
-        verify(auditLogRepository).save(auditLogCaptor.capture());
-        AuditLog savedLog = auditLogCaptor.getValue();
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        AuditLog savedLog = eventCaptor.getValue().entries().get(0);
 
         assertEquals("SYSTEM", savedLog.getActorName());
     }
@@ -89,10 +105,9 @@ class AuditLogServiceTest {
                 auditLogService.log(testActionType, testEntityType, testEntityId, testPayload));
 
         // Assert
-        ArgumentCaptor<AuditLog> auditLogCaptor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
 
-        AuditLog savedLog = auditLogCaptor.getValue();
+        AuditLog savedLog = eventCaptor.getValue().entries().get(0);
         assertNotNull(savedLog);
         assertEquals(testActionType, savedLog.getActionType());
         assertEquals(testEntityType, savedLog.getEntityType());
@@ -100,43 +115,81 @@ class AuditLogServiceTest {
         assertNotNull(savedLog.getTimestamp());
     }
     @Test
-    void getLogs_WithEntityTypeAndActorName_ShouldCallCorrectRepositoryMethod() {
+    void getLogPage_ShouldSeekPastCursorAndReturnNextCursor() {
         // Arrange
-        when(auditLogRepository.findByEntityTypeAndActorName(testEntityType, testActorName))
-                .thenReturn(List.of(new AuditLog()));
+        Instant newest = Instant.parse("2030-01-01T10:00:00Z");
+        AuditLog first = AuditLog.builder().id("65a000000000000000000003").actionType("UPDATE").timestamp(newest).build();
+        AuditLog second = AuditLog.builder().id("65a000000000000000000002").actionType("UPDATE").timestamp(newest).build();
+        AuditLog extra = AuditLog.builder().id("65a000000000000000000001").actionType("UPDATE").timestamp(newest.minusSeconds(1)).build();
+        when(auditLogRepository.findNewest(any(Query.class), any(), any(), eq(3))).thenReturn(List.of(first, second, extra));
+        String cursor = new AuditLogCursor(newest.plusSeconds(5), "65a000000000000000000009").encode();
+        AuditLogQuery filter = new AuditLogQuery(testEntityType, null, null, "UPDATE", null, newest.plusSeconds(60));
 
         // Act
-        List<AuditLogDTO> result = auditLogService.getLogs(testEntityType, testActorName);
+        AuditLogPage page = auditLogService.getLogPage(filter, cursor, 2);
 
         // Assert
-        assertEquals(1, result.size());
-        verify(auditLogRepository).findByEntityTypeAndActorName(testEntityType, testActorName);
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        // Buckets are bounded by the cursor, which is older than 'to'
+        verify(auditLogRepository).findNewest(queryCaptor.capture(), isNull(), eq(newest.plusSeconds(5)), eq(3));
+        Query query = queryCaptor.getValue();
+        assertEquals(testEntityType, query.getQueryObject().get("entityType"));
+        assertTrue(query.getQueryObject().containsKey("$or"));
+        assertEquals(-1, query.getSortObject().get("timestamp"));
+
+        assertEquals(List.of(first.getId(), second.getId()), page.content().stream().map(AuditLogDTO::id).toList());
+        assertEquals(new AuditLogCursor(newest, second.getId()), AuditLogCursor.decode(page.nextCursor()));
     }
 
     @Test
-    void getLogs_WithEntityTypeOnly_ShouldCallCorrectRepositoryMethod() {
-        // Arrange
-        when(auditLogRepository.findByEntityType(testEntityType))
-                .thenReturn(List.of(new AuditLog(), new AuditLog()));
-
-        // Act
-        List<AuditLogDTO> result = auditLogService.getLogs(testEntityType, null);
-
-        // Assert
-        assertEquals(2, result.size());
-        verify(auditLogRepository).findByEntityType(testEntityType);
+    void getLogPage_WithMalformedCursor_ShouldRejectRequest() {
+        assertThrows(IllegalArgumentException.class, () -> auditLogService.getLogPage(
+                new AuditLogQuery(null, null, null, null, null, null), "not-a-cursor", 10));
+        verifyNoInteractions(auditLogRepository);
     }
 
     @Test
-    void getLogs_WithNoFilters_ShouldCallFindAll() {
-        // Arrange
-        when(auditLogRepository.findAll()).thenReturn(List.of(new AuditLog()));
+    void reconstruct_ShouldReplayPatchesOnNearestSnapshot() {
+        // Arrange: version 3 holds a snapshot, versions 4 and 5 only patches
+        ObjectMapper mapper = new ObjectMapper();
+        AuditLogService service = new AuditLogService(auditLogRepository, eventPublisher, mapper, auditArchiver);
+        AuditLog snapshot = AuditLog.builder().version(3L)
+                .snapshot(Map.of("id", 9, "name", "Apollo", "status", "ACTIVE")).build();
+        AuditLog v4 = AuditLog.builder().version(4L)
+                .changes(List.of(Map.of("op", "replace", "path", "/name", "value", "Artemis"))).build();
+        AuditLog v5 = AuditLog.builder().version(5L)
+                .changes(List.of(Map.of("op", "replace", "path", "/status", "value", "COMPLETED"))).build();
+        // Patches come back in bucket order (newest month first)
+        when(auditLogRepository.findInAllBuckets(any(Query.class))).thenAnswer(invocation ->
+                invocation.<Query>getArgument(0).getQueryObject().toJson().contains("snapshot")
+                        ? List.of(snapshot) : List.of(v5, v4));
 
         // Act
-        List<AuditLogDTO> result = auditLogService.getLogs(null, null);
+        JsonNode state = service.reconstruct("Project", "9", 5);
 
         // Assert
-        assertEquals(1, result.size());
-        verify(auditLogRepository).findAll();
+        assertEquals(mapper.valueToTree(Map.of("id", 9, "name", "Artemis", "status", "COMPLETED")), state);
+        assertThrows(ResourceNotFoundException.class, () -> service.reconstruct("Project", "9", 7));
+    }
+
+    @Test
+    void reconstruct_WhenSnapshotIsArchived_ShouldContinueFromTheArchive() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        AuditLogService service = new AuditLogService(auditLogRepository, eventPublisher, mapper, auditArchiver);
+        AuditLog snapshot = AuditLog.builder().version(3L)
+                .snapshot(Map.of("id", 9, "name", "Apollo", "status", "ACTIVE")).build();
+        AuditLog v4 = AuditLog.builder().version(4L)
+                .changes(List.of(Map.of("op", "replace", "path", "/name", "value", "Artemis"))).build();
+        AuditLog v5 = AuditLog.builder().version(5L)
+                .changes(List.of(Map.of("op", "replace", "path", "/status", "value", "COMPLETED"))).build();
+        // Snapshot month is archived; v4 sits in both places until its bucket is dropped
+        when(auditLogRepository.findInAllBuckets(any(Query.class))).thenAnswer(invocation ->
+                invocation.<Query>getArgument(0).getQueryObject().toJson().contains("snapshot")
+                        ? List.of() : List.of(v5, v4));
+        when(auditArchiver.history("Project", "9", 5)).thenReturn(List.of(v4, snapshot));
+
+        JsonNode state = service.reconstruct("Project", "9", 5);
+
+        assertEquals(mapper.valueToTree(Map.of("id", 9, "name", "Artemis", "status", "COMPLETED")), state);
     }
-}
\ No newline at end of file
+}
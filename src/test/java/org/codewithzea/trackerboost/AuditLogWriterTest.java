@@ -0,0 +1,223 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.audit.AuditBackpressure;
+import org.codewithzea.trackerboost.audit.AuditLog;
+import org.codewithzea.trackerboost.audit.AuditLogEvent;
+import org.codewithzea.trackerboost.audit.AuditLogRepository;
+import org.codewithzea.trackerboost.audit.AuditLogWriter;
+import org.codewithzea.trackerboost.audit.AuditVersioner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditVersioner auditVersioner;
+
+    @Captor
+    private ArgumentCaptor<List<AuditLog>> batchCaptor;
+
+    @TempDir
+    private Path spillDir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void flush_ShouldInsertQueuedEntriesInBatches() {
+        AuditLogWriter writer = writer(16, 3, AuditBackpressure.BLOCK);
+        for (int i = 0; i < 7; i++) {
+            writer.submit(entry(i));
+        }
+        verifyNoInteractions(auditLogRepository);
+        assertEquals(7, registry.get("audit.writer.queue.depth").gauge().value());
+
+        writer.flush();
+
+        verify(auditLogRepository, times(3)).insert(batchCaptor.capture());
+        assertEquals(List.of(3, 3, 1), batchCaptor.getAllValues().stream().map(List::size).toList());
+        assertEquals("6", batchCaptor.getAllValues().get(2).get(0).getEntityId());
+        assertEquals(0, registry.get("audit.writer.queue.depth").gauge().value());
+        assertEquals(3, registry.get("audit.writer.flush").timer().count());
+    }
+
+    @Test
+    void onAuditLogged_ShouldQueueCommittedEntriesForOneInsert() {
+        AuditLogWriter writer = writer(16, 10, AuditBackpressure.BLOCK);
+
+        writer.onAuditLogged(new AuditLogEvent(List.of(entry(1), entry(2), entry(3))));
+        verifyNoInteractions(auditLogRepository);
+        writer.flush();
+
+        verify(auditLogRepository).insert(batchCaptor.capture());
+        assertEquals(3, batchCaptor.getValue().size());
+    }
+
+    @Test
+    void dropOldest_ShouldKeepNewestEntriesWhenFull() {
+        AuditLogWriter writer = writer(4, 10, AuditBackpressure.DROP_OLDEST);
+        for (int i = 0; i < 6; i++) {
+            writer.submit(entry(i));
+        }
+
+        writer.flush();
+
+        verify(auditLogRepository).insert(batchCaptor.capture());
+        assertEquals(List.of("2", "3", "4", "5"),
+                batchCaptor.getValue().stream().map(AuditLog::getEntityId).toList());
+        assertEquals(2, registry.get("audit.writer.dropped").tag("reason", "overflow").counter().count());
+    }
+
+    @Test
+    void spill_ShouldPersistOverflowBehindQueuedEntriesThenReplay() throws Exception {
+        AuditLogWriter writer = writer(2, 10, AuditBackpressure.SPILL);
+        doThrow(new IllegalStateException("mongo down")).when(auditLogRepository).insertIgnoringDuplicates(anyList());
+        for (int i = 0; i < 3; i++) {
+            writer.submit(entry(i));
+        }
+        // The overflowing entry takes the two queued ones to disk ahead of it
+        Path spillFile = spillDir.resolve("audit-spill.ndjson");
+        assertEquals(3, Files.readAllLines(spillFile).size());
+        assertEquals(0, registry.get("audit.writer.queue.depth").gauge().value());
+
+        writer.flush();
+        assertEquals(3, registry.get("audit.writer.spilled").counter().count());
+        assertTrue(Files.exists(spillDir.resolve("audit-spill.replaying")));
+
+        reset(auditLogRepository);
+        writer.flush();
+
+        verify(auditLogRepository).insertIgnoringDuplicates(batchCaptor.capture());
+        assertEquals(List.of("0", "1", "2"), batchCaptor.getValue().stream().map(AuditLog::getEntityId).toList());
+        assertEquals(Instant.parse("2030-01-01T00:00:00Z"), batchCaptor.getValue().get(0).getTimestamp());
+        try (var files = Files.list(spillDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void replay_ShouldInsertSpillInBatchesAndKeepOnlyTheUnwrittenTail() throws Exception {
+        AuditLogWriter writer = writer(2, 2, AuditBackpressure.SPILL);
+        for (int i = 0; i < 7; i++) {
+            writer.submit(entry(i));
+        }
+        doNothing().doThrow(new IllegalStateException("mongo down"))
+                .when(auditLogRepository).insertIgnoringDuplicates(anyList());
+
+        writer.flush();
+
+        Path replayFile = spillDir.resolve("audit-spill.replaying");
+        assertEquals(4, Files.readAllLines(replayFile).size(), "only the first replayed batch is written");
+        assertTrue(Files.readAllLines(replayFile).get(0).contains("\"entityId\":\"2\""));
+        assertEquals(1, Files.readAllLines(spillDir.resolve("audit-spill.ndjson")).size(),
+                "the queued entry waits behind the backlog");
+        verify(auditLogRepository, never()).insert(anyList());
+
+        reset(auditLogRepository);
+        writer.flush();
+
+        verify(auditLogRepository, times(3)).insertIgnoringDuplicates(batchCaptor.capture());
+        assertEquals(List.of("2", "3", "4", "5", "6"), batchCaptor.getAllValues().stream()
+                .flatMap(List::stream).map(AuditLog::getEntityId).toList());
+        assertFalse(Files.exists(replayFile));
+    }
+
+    @Test
+    void replay_AfterPartialInsert_ShouldResendTheSameIds() {
+        AuditLogWriter writer = writer(16, 10, AuditBackpressure.SPILL);
+        when(auditLogRepository.insert(anyList())).thenThrow(new IllegalStateException("connection reset"));
+        writer.submit(entry(0));
+        writer.submit(entry(1));
+
+        writer.flush();
+        writer.flush();
+
+        verify(auditLogRepository).insert(batchCaptor.capture());
+        List<String> firstAttempt = batchCaptor.getValue().stream().map(AuditLog::getId).toList();
+        verify(auditLogRepository).insertIgnoringDuplicates(batchCaptor.capture());
+        assertEquals(firstAttempt, batchCaptor.getValue().stream().map(AuditLog::getId).toList());
+        assertTrue(firstAttempt.stream().allMatch(ObjectId::isValid));
+    }
+
+    @Test
+    void versions_ShouldFollowSubmitOrderAcrossFailuresAndSpills() throws Exception {
+        AuditLogWriter writer = writer(2, 10, AuditBackpressure.SPILL);
+        AtomicLong sequence = new AtomicLong();
+        doAnswer(invocation -> {
+            List<AuditLog> batch = invocation.getArgument(0);
+            batch.stream().filter(entry -> entry.getVersion() == null)
+                    .forEach(entry -> entry.setVersion(sequence.incrementAndGet()));
+            return null;
+        }).when(auditVersioner).assign(anyList());
+        when(auditLogRepository.insert(anyList())).thenThrow(new IllegalStateException("mongo down"));
+        doThrow(new IllegalStateException("mongo down")).when(auditLogRepository).insertIgnoringDuplicates(anyList());
+        Path spillFile = spillDir.resolve("audit-spill.ndjson");
+
+        writer.submit(entry(0));
+        writer.flush();                     // 0 gets version 1, fails, goes to the replay file
+        writer.submit(entry(1));
+        assertFalse(Files.exists(spillFile), "callers keep queuing in memory while the backlog is pending");
+        writer.submit(entry(2));
+        writer.submit(entry(3));            // overflow: 1 and 2 are spilled ahead of 3
+        writer.submit(entry(4));
+        writer.flush();                     // replay of 0 fails; 4 is appended behind 3
+
+        doNothing().when(auditLogRepository).insertIgnoringDuplicates(anyList());
+        writer.flush();
+
+        verify(auditLogRepository, times(3)).insertIgnoringDuplicates(batchCaptor.capture());
+        List<AuditLog> written = batchCaptor.getAllValues().stream().skip(1).flatMap(List::stream).toList();
+        assertEquals(List.of("0", "1", "2", "3", "4"), written.stream().map(AuditLog::getEntityId).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), written.stream().map(AuditLog::getVersion).toList());
+        assertEquals(5, sequence.get(), "no version is skipped");
+
+        // Backlog drained: the buffer is used again
+        reset(auditLogRepository);
+        AuditLog next = entry(5);
+        writer.submit(next);
+        writer.flush();
+        verify(auditLogRepository).insert(anyList());
+        assertEquals(6L, next.getVersion());
+        try (var files = Files.list(spillDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private AuditLogWriter writer(int capacity, int batchSize, AuditBackpressure backpressure) {
+        return new AuditLogWriter(auditLogRepository, auditVersioner, new ObjectMapper().findAndRegisterModules(), registry,
+                capacity, batchSize, Duration.ofMillis(50), backpressure, spillDir);
+    }
+
+    private static AuditLog entry(int i) {
+        return AuditLog.builder()
+                .actionType("UPDATE")
+                .entityType("Task")
+                .entityId(String.valueOf(i))
+                .actorName("SYSTEM")
+                .timestamp(Instant.parse("2030-01-01T00:00:00Z"))
+                .build();
+    }
+}
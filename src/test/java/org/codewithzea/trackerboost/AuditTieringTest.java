@@ -0,0 +1,221 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.audit.AuditArchiver;
+import org.codewithzea.trackerboost.audit.AuditBuckets;
+import org.codewithzea.trackerboost.audit.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditTieringTest {
+
+    private static final Instant MARCH = Instant.parse("2030-03-01T00:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @TempDir
+    private Path archiveDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void buckets_ShouldBeMonthlyAndFanOutOnlyToOverlappingMonths() {
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of(
+                "audit_logs_2030_01", "audit_logs_2030_02", "audit_logs_2030_03", "audit_versions", "audit_logs"));
+        when(mongoTemplate.collectionExists("audit_logs")).thenReturn(true);
+        when(mongoTemplate.estimatedCount("audit_logs")).thenReturn(0L);
+        AuditBuckets buckets = new AuditBuckets(mongoTemplate, Duration.ofDays(90));
+
+        assertEquals("audit_logs_2030_02", AuditBuckets.collectionFor(Instant.parse("2030-02-28T23:59:59Z")));
+        assertEquals(List.of("audit_logs_2030_03", "audit_logs_2030_02"),
+                buckets.overlapping(Instant.parse("2030-02-10T00:00:00Z"), MARCH.plusSeconds(60)));
+        assertEquals(List.of("audit_logs_2030_01"), buckets.overlapping(null, Instant.parse("2030-01-31T12:00:00Z")));
+        assertEquals(3, buckets.overlapping(null, null).size(), "empty legacy collection is skipped");
+    }
+
+    @Test
+    void archive_ShouldWriteGzipSegmentWithSparseIndexThenDropBucket() throws Exception {
+        List<AuditLog> entries = IntStream.range(0, 5)
+                .mapToObj(i -> AuditLog.builder()
+                        .id("65a00000000000000000000" + i)
+                        .actionType("UPDATE")
+                        .entityType("Task")
+                        .entityId(String.valueOf(i))
+                        .timestamp(MARCH.minusSeconds(3600L * (5 - i)))
+                        .build())
+                .toList();
+        when(mongoTemplate.stream(any(Query.class), eq(AuditLog.class), eq("audit_logs_2030_02")))
+                .thenReturn(entries.stream());
+        when(mongoTemplate.collectionExists("audit_logs_2030_02")).thenReturn(true);
+        when(mongoTemplate.count(any(Query.class), eq("audit_logs_2030_02"))).thenReturn(5L, 0L);
+        AuditBuckets buckets = mock(AuditBuckets.class);
+        AuditArchiver archiver = new AuditArchiver(mongoTemplate, buckets, objectMapper, archiveDir, Duration.ofDays(31), Duration.ofDays(90), 2);
+
+        archiver.archive("audit_logs_2030_02");
+
+        verify(mongoTemplate, times(3)).remove(any(Query.class), eq(AuditLog.class), eq("audit_logs_2030_02"));
+        verify(mongoTemplate).dropCollection("audit_logs_2030_02");
+        verify(buckets).forget("audit_logs_2030_02");
+        List<String> index = Files.readAllLines(archiveDir.resolve("audit_logs_2030_02.idx"));
+        assertEquals(3, index.size(), "one index line per block of two entries");
+        assertTrue(index.get(1).startsWith(entries.get(2).getTimestamp() + "\t"));
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(archiveDir.resolve("audit_logs_2030_02.ndjson.gz")))) {
+            assertEquals(5, new String(in.readAllBytes()).lines().count(), "concatenated members read as one stream");
+        }
+
+        List<AuditLog> range = archiver.read(YearMonth.of(2030, 2), entries.get(3).getTimestamp(), MARCH, 10);
+        assertEquals(List.of("3", "4"), range.stream().map(AuditLog::getEntityId).toList());
+        assertEquals(List.of("0"), archiver.read(YearMonth.of(2030, 2), null, null, 1).stream()
+                .map(AuditLog::getEntityId).toList());
+    }
+
+    @Test
+    void archive_WhenBucketChangedMeanwhile_ShouldDeleteOnlyArchivedEntriesAndKeepCollection() throws Exception {
+        when(mongoTemplate.collectionExists("audit_logs_2030_02")).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(AuditLog.class), eq("audit_logs_2030_02")))
+                .thenReturn(Stream.of(entry(0, 1)));
+        // one entry inserted after the stream started
+        when(mongoTemplate.count(any(Query.class), eq("audit_logs_2030_02"))).thenReturn(1L, 1L);
+        AuditBuckets buckets = mock(AuditBuckets.class);
+        AuditArchiver archiver = new AuditArchiver(mongoTemplate, buckets, objectMapper,
+                archiveDir, Duration.ofDays(31), Duration.ofDays(90), 2);
+
+        archiver.archive("audit_logs_2030_02");
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(AuditLog.class), eq("audit_logs_2030_02"));
+        assertEquals(List.of(entry(0, 1).getId()), removed.getValue().getQueryObject().get("id", Document.class).get("$in"));
+        verify(mongoTemplate, never()).dropCollection(anyString());
+        verify(buckets, never()).forget(anyString());
+        assertTrue(Files.exists(archiveDir.resolve("audit_logs_2030_02.ndjson.gz")));
+    }
+
+    @Test
+    void archive_SameMonthTwice_ShouldAddASegmentAndReadBothInOrder() throws Exception {
+        when(mongoTemplate.collectionExists("audit_logs_2030_02")).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(AuditLog.class), eq("audit_logs_2030_02")))
+                .thenReturn(Stream.of(entry(0, 3), entry(2, 1)))
+                .thenReturn(Stream.of(entry(1, 2)));
+        // the second entry of the month arrives while the first run archives
+        when(mongoTemplate.count(any(Query.class), eq("audit_logs_2030_02"))).thenReturn(2L, 1L, 1L, 0L);
+        AuditArchiver archiver = new AuditArchiver(mongoTemplate, mock(AuditBuckets.class), objectMapper,
+                archiveDir, Duration.ofDays(31), Duration.ofDays(90), 2);
+
+        archiver.archive("audit_logs_2030_02");
+        byte[] first = Files.readAllBytes(archiveDir.resolve("audit_logs_2030_02.ndjson.gz"));
+        archiver.archive("audit_logs_2030_02");
+
+        assertArrayEquals(first, Files.readAllBytes(archiveDir.resolve("audit_logs_2030_02.ndjson.gz")));
+        assertTrue(Files.exists(archiveDir.resolve("audit_logs_2030_02.1.ndjson.gz")));
+        assertTrue(Files.exists(archiveDir.resolve("audit_logs_2030_02.1.idx")));
+        assertEquals(List.of("0", "1", "2"), archiver.read(YearMonth.of(2030, 2), null, null, 10).stream()
+                .map(AuditLog::getEntityId).toList());
+        assertEquals(List.of("1"), archiver.read(YearMonth.of(2030, 2), MARCH.minusSeconds(2 * 3600), MARCH, 1)
+                .stream().map(AuditLog::getEntityId).toList());
+    }
+
+    @Test
+    void archive_MissingOrEmptyBucket_ShouldWriteNoSegment() throws Exception {
+        when(mongoTemplate.collectionExists("audit_logs_2030_01")).thenReturn(false);
+        when(mongoTemplate.collectionExists("audit_logs_2030_02")).thenReturn(true);
+        when(mongoTemplate.count(any(Query.class), eq("audit_logs_2030_02"))).thenReturn(0L);
+        AuditBuckets buckets = mock(AuditBuckets.class);
+        AuditArchiver archiver = new AuditArchiver(mongoTemplate, buckets, objectMapper, archiveDir, Duration.ofDays(31), Duration.ofDays(90), 2);
+
+        archiver.archive("audit_logs_2030_01");
+        archiver.archive("audit_logs_2030_02");
+
+        verify(buckets).forget("audit_logs_2030_01");
+        verify(buckets).forget("audit_logs_2030_02");
+        verify(mongoTemplate, never()).dropCollection("audit_logs_2030_01");
+        verify(mongoTemplate).dropCollection("audit_logs_2030_02");
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(AuditLog.class), anyString());
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void history_ShouldScanArchivedMonthsBackToTheFirstSnapshot() throws Exception {
+        AuditLog january = versioned("65c000000000000000000001", Instant.parse("2030-01-20T00:00:00Z"), 1L, true);
+        AuditLog snapshot = versioned("65c000000000000000000002", Instant.parse("2030-02-01T00:00:00Z"), 2L, true);
+        AuditLog patch = versioned("65c000000000000000000003", Instant.parse("2030-02-02T00:00:00Z"), 3L, false);
+        AuditLog later = versioned("65c000000000000000000004", Instant.parse("2030-02-03T00:00:00Z"), 4L, false);
+        AuditLog other = AuditLog.builder().id("65c000000000000000000005").entityType("Task").entityId("8")
+                .version(3L).timestamp(Instant.parse("2030-02-02T00:00:00Z")).build();
+        for (String bucket : List.of("audit_logs_2030_01", "audit_logs_2030_02")) {
+            when(mongoTemplate.collectionExists(bucket)).thenReturn(true);
+        }
+        when(mongoTemplate.stream(any(Query.class), eq(AuditLog.class), eq("audit_logs_2030_01")))
+                .thenReturn(Stream.of(january));
+        when(mongoTemplate.stream(any(Query.class), eq(AuditLog.class), eq("audit_logs_2030_02")))
+                .thenReturn(Stream.of(snapshot, patch, other, later));
+        when(mongoTemplate.count(any(Query.class), eq("audit_logs_2030_01"))).thenReturn(1L);
+        when(mongoTemplate.count(any(Query.class), eq("audit_logs_2030_02"))).thenReturn(4L);
+        AuditArchiver archiver = new AuditArchiver(mongoTemplate, mock(AuditBuckets.class), objectMapper,
+                archiveDir, Duration.ofDays(31), Duration.ofDays(90), 2);
+        archiver.archive("audit_logs_2030_01");
+        archiver.archive("audit_logs_2030_02");
+
+        List<AuditLog> history = archiver.history("Task", "7", 3);
+
+        assertEquals(Set.of(2L, 3L), history.stream().map(AuditLog::getVersion).collect(Collectors.toSet()),
+                "January is not read once February holds a snapshot");
+    }
+
+    @Test
+    void constructor_ShouldRejectHotTtlThatExpiresEntriesBeforeTheyAreArchived() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> new AuditArchiver(
+                mongoTemplate, mock(AuditBuckets.class), objectMapper, archiveDir, Duration.ofDays(31), Duration.ofDays(62), 2));
+        assertTrue(error.getMessage().contains("app.audit.hot-ttl"));
+    }
+
+    private static AuditLog versioned(String id, Instant timestamp, long version, boolean snapshot) {
+        return AuditLog.builder()
+                .id(id)
+                .actionType("UPDATE")
+                .entityType("Task")
+                .entityId("7")
+                .timestamp(timestamp)
+                .version(version)
+                .changes(List.of(Map.of("op", "replace", "path", "/title", "value", "v" + version)))
+                .snapshot(snapshot ? Map.of("title", "v" + version) : null)
+                .build();
+    }
+
+    private static AuditLog entry(int i, long hoursBeforeMarch) {
+        return AuditLog.builder()
+                .id("65b00000000000000000000" + i)
+                .actionType("UPDATE")
+                .entityType("Task")
+                .entityId(String.valueOf(i))
+                .timestamp(MARCH.minusSeconds(3600L * hoursBeforeMarch))
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.cache.CacheSpec;
+import org.codewithzea.trackerboost.cache.CacheSpecRegistry;
+import org.codewithzea.trackerboost.cache.CacheSpecValidator;
+import org.codewithzea.trackerboost.project.CachedProjectPageSerializer;
+import org.codewithzea.trackerboost.project.ProjectService;
+import org.codewithzea.trackerboost.task.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSpecValidatorTest {
+
+    private final CacheSpecRegistry registry = new CacheSpecRegistry(new MockEnvironment()
+            .withProperty("app.cache.ttl.allProjects", "5m")
+            .withProperty("app.cache.max-mb.allProjects", "3"), List.of(new CachedProjectPageSerializer()));
+
+    @Test
+    void registry_ShouldApplyPropertyOverridesOnTopOfDefaults() {
+        CacheSpec allProjects = registry.get("allProjects");
+        CacheSpec developers = registry.get("developers");
+
+        assertEquals(Duration.ofMinutes(5), allProjects.ttl());
+        assertEquals(3L * 1024 * 1024, allProjects.maxWeight());
+        assertEquals("allProjects", allProjects.metricsTag());
+        assertInstanceOf(CachedProjectPageSerializer.class, allProjects.redisSerializer());
+        assertNull(developers.redisSerializer());
+        assertTrue(developers.expireAfterAccess());
+        assertEquals(Duration.ofHours(2), developers.ttl());
+    }
+
+    @Test
+    void validator_ShouldAcceptEveryCacheTheServicesUse() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("taskService", new RootBeanDefinition(TaskService.class));
+        beanFactory.registerBeanDefinition("projectService", new RootBeanDefinition(ProjectService.class));
+
+        assertDoesNotThrow(() -> new CacheSpecValidator(registry, beanFactory).afterSingletonsInstantiated());
+    }
+
+    @Test
+    void validator_ShouldFailStartupForUnregisteredCacheName() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("unregistered", new RootBeanDefinition(UnregisteredCacheUser.class));
+        CacheSpecValidator validator = new CacheSpecValidator(registry, beanFactory);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, validator::afterSingletonsInstantiated);
+
+        assertTrue(e.getMessage().contains("projectStatz"));
+        assertTrue(e.getMessage().contains("taskFeed"));
+        assertFalse(e.getMessage().contains("tasks="));
+    }
+
+    static class UnregisteredCacheUser {
+
+        @Cacheable("projectStatz")
+        public String stats(Long id) {
+            return "";
+        }
+
+        @Caching(cacheable = {@Cacheable("tasks"), @Cacheable("taskFeed")})
+        public String feed(Long id) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.cache.CacheConfig;
+import org.codewithzea.trackerboost.cache.PayloadWeigher;
+import org.codewithzea.trackerboost.project.CachedProjectPage;
+import org.codewithzea.trackerboost.project.CachedProjectPageSerializer;
+import org.codewithzea.trackerboost.project.ProjectDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedProjectPageTest {
+
+    private final CachedProjectPageSerializer serializer = new CachedProjectPageSerializer();
+
+    @Test
+    void serializer_ShouldRoundTripPageThroughRedisBytes() {
+        PageRequest pageable = PageRequest.of(2, 3, Sort.by("name"));
+        Page<ProjectDTO> page = new PageImpl<>(List.of(project(1), project(2), withoutDescription(3)), pageable, 11);
+
+        Object decoded = serializer.deserialize(serializer.serialize(CachedProjectPage.of(page)));
+
+        Page<ProjectDTO> restored = ((CachedProjectPage) decoded).toPage(pageable);
+        assertEquals(page.getContent(), restored.getContent());
+        assertEquals(11, restored.getTotalElements());
+        assertEquals(2, restored.getNumber());
+        assertEquals(Sort.by("name"), restored.getSort());
+    }
+
+    @Test
+    void cachedPage_ShouldBeSmallerThanPageImplOnHeapAndInRedis() {
+        PageRequest pageable = PageRequest.of(0, 50, Sort.by("deadline"));
+        Page<ProjectDTO> page = new PageImpl<>(
+                IntStream.range(0, 50).mapToObj(CachedProjectPageTest::project).toList(), pageable, 500);
+        CachedProjectPage cached = CachedProjectPage.of(page);
+
+        byte[] json = CacheConfig.jsonRedisSerializer().serialize(page);
+        byte[] binary = serializer.serialize(cached);
+
+        assertTrue(PayloadWeigher.estimate(cached, 0) < PayloadWeigher.estimate(page, 0));
+        assertTrue(binary.length * 2 < json.length,
+                "binary " + binary.length + " bytes vs json " + json.length + " bytes");
+    }
+
+    private static ProjectDTO project(int i) {
+        return new ProjectDTO((long) i, "Project " + i, "Description " + i,
+                LocalDate.of(2030, 1, 1).plusDays(i), "ACTIVE", 7L);
+    }
+
+    private static ProjectDTO withoutDescription(int i) {
+        return new ProjectDTO((long) i, "Project " + i, null, LocalDate.of(2031, 6, 1), "COMPLETED", 9L);
+    }
+}
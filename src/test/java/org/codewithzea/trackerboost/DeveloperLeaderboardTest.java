@@ -0,0 +1,101 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.developer.DeveloperDeletedEvent;
+import org.codewithzea.trackerboost.developer.DeveloperLeaderboard;
+import org.codewithzea.trackerboost.developer.DeveloperRepository;
+import org.codewithzea.trackerboost.task.TaskChangedEvent;
+import org.codewithzea.trackerboost.task.TaskSnapshot;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.task.TasksDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeveloperLeaderboardTest {
+
+    @Mock
+    private DeveloperRepository developerRepository;
+
+    private DeveloperLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new DeveloperLeaderboard(developerRepository);
+        when(developerRepository.countAssignedTasksPerDeveloper()).thenReturn(List.of(
+                new Object[]{1L, 3L},
+                new Object[]{2L, 5L},
+                new Object[]{3L, 0L},
+                new Object[]{4L, 3L}));
+        leaderboard.seed();
+    }
+
+    @Test
+    void top_ShouldRankByTaskCountThenId() {
+        assertEquals(List.of(2L, 1L), leaderboard.top(2));
+        assertEquals(List.of(2L, 1L, 4L, 3L), leaderboard.top(10));
+    }
+
+    @Test
+    void assignmentChanges_ShouldMoveRanksWithoutQuerying() {
+        // task reassigned from developer 2 to developers 3 and 4, then a new task for 3
+        leaderboard.onTaskChanged(TaskChangedEvent.updated(task(10L, Set.of(2L)), task(10L, Set.of(3L, 4L))));
+        leaderboard.onTaskChanged(TaskChangedEvent.created(task(11L, Set.of(3L))));
+        leaderboard.onTaskChanged(TaskChangedEvent.updated(task(12L, Set.of(1L)), task(12L, Set.of(1L))));
+
+        assertEquals(List.of(2L, 4L, 1L), leaderboard.top(3));
+        assertEquals(2, leaderboard.taskCount(3L));
+
+        leaderboard.onTasksDeleted(new TasksDeletedEvent(7L, List.of(task(20L, Set.of(2L)), task(21L, Set.of(2L, 4L)))));
+        leaderboard.onDeveloperDeleted(new DeveloperDeletedEvent(1L));
+
+        assertEquals(List.of(4L, 2L, 3L), leaderboard.top(5));
+        verify(developerRepository, times(1)).countAssignedTasksPerDeveloper();
+    }
+
+    @Test
+    void rebuild_ShouldReplaceDriftedCounts() {
+        leaderboard.onTaskChanged(TaskChangedEvent.created(task(10L, Set.of(3L))));
+        when(developerRepository.countAssignedTasksPerDeveloper()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 1L},
+                new Object[]{3L, 2L}));
+
+        leaderboard.rebuild();
+
+        assertEquals(List.of(3L, 1L), leaderboard.top(5));
+        assertEquals(0, leaderboard.taskCount(2L));
+    }
+
+    @Test
+    void rebuild_ShouldReplayEventsCommittedWhileTheQueryRuns() {
+        when(developerRepository.countAssignedTasksPerDeveloper()).thenAnswer(invocation -> {
+            // committed after the query read its rows
+            leaderboard.onDeveloperDeleted(new DeveloperDeletedEvent(2L));
+            leaderboard.onTaskChanged(TaskChangedEvent.created(task(10L, Set.of(3L))));
+            return List.of(
+                    new Object[]{1L, 3L},
+                    new Object[]{2L, 5L},
+                    new Object[]{3L, 0L});
+        });
+
+        leaderboard.rebuild();
+
+        assertEquals(List.of(1L, 3L), leaderboard.top(3));
+        assertEquals(0, leaderboard.taskCount(2L));
+        assertEquals(1, leaderboard.taskCount(3L));
+    }
+
+    private static TaskSnapshot task(Long id, Set<Long> developerIds) {
+        return new TaskSnapshot(id, 7L, TaskStatus.PENDING, LocalDate.now(), developerIds, Set.of());
+    }
+}
@@ -0,0 +1,45 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.audit.JsonPatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void diff_ShouldEmitOnlyChangedFieldsAndApplyBack() throws Exception {
+        JsonNode before = objectMapper.readTree("""
+                {"id":1,"title":"Old","status":"PENDING","dueDate":"2030-01-01","assignedDeveloperIds":[1,2],
+                 "meta":{"a/b":1,"keep":true},"description":"gone"}""");
+        JsonNode after = objectMapper.readTree("""
+                {"id":1,"title":"New","status":"PENDING","dueDate":"2030-01-01","assignedDeveloperIds":[2],
+                 "meta":{"a/b":2,"keep":true},"projectId":7}""");
+
+        ArrayNode patch = JsonPatch.diff(before, after);
+
+        assertEquals(objectMapper.readTree("""
+                [{"op":"remove","path":"/description"},
+                 {"op":"replace","path":"/title","value":"New"},
+                 {"op":"replace","path":"/assignedDeveloperIds","value":[2]},
+                 {"op":"replace","path":"/meta/a~1b","value":2},
+                 {"op":"add","path":"/projectId","value":7}]"""), patch);
+        assertEquals(after, JsonPatch.apply(before, patch));
+        assertEquals("Old", before.get("title").asText(), "apply must not modify its input");
+    }
+
+    @Test
+    void diff_OfEqualDocuments_ShouldBeEmpty() throws Exception {
+        JsonNode document = objectMapper.readTree("{\"id\":1,\"skills\":[\"java\"]}");
+
+        assertTrue(JsonPatch.diff(document, document.deepCopy()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> JsonPatch.apply(document,
+                objectMapper.readTree("[{\"op\":\"move\",\"path\":\"/id\",\"from\":\"/x\"}]")));
+    }
+}
@@ -0,0 +1,71 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.task.OverdueTaskIndex;
+import org.codewithzea.trackerboost.task.TaskChangedEvent;
+import org.codewithzea.trackerboost.task.TaskRepository;
+import org.codewithzea.trackerboost.task.TaskSnapshot;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.task.TasksDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueTaskIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private OverdueTaskIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OverdueTaskIndex(taskRepository, cacheManager);
+        when(taskRepository.findOpenTaskDueDates()).thenReturn(List.of(
+                new Object[]{1L, TODAY.minusDays(3)},
+                new Object[]{2L, TODAY.minusDays(3)},
+                new Object[]{3L, TODAY.minusDays(1)},
+                new Object[]{4L, TODAY.plusDays(1)}));
+        index.seed();
+    }
+
+    @Test
+    void countOverdue_ShouldFollowWritesWithoutRecounting() {
+        assertEquals(3, index.countOverdue(TODAY));
+
+        index.onTaskChanged(TaskChangedEvent.created(task(5L, TaskStatus.PENDING, TODAY.minusDays(2))));
+        index.onTaskChanged(TaskChangedEvent.updated(task(1L, TaskStatus.PENDING, TODAY.minusDays(3)),
+                task(1L, TaskStatus.DONE, TODAY.minusDays(3))));
+        index.onTaskChanged(TaskChangedEvent.updated(task(4L, TaskStatus.PENDING, TODAY.plusDays(1)),
+                task(4L, TaskStatus.PENDING, TODAY.minusDays(5))));
+        index.onTasksDeleted(new TasksDeletedEvent(7L, List.of(task(3L, TaskStatus.PENDING, TODAY.minusDays(1)))));
+
+        assertEquals(3, index.countOverdue(TODAY));
+        assertEquals(List.of(4L, 2L, 5L), index.overdueIds(TODAY));
+        assertEquals(List.of(2L, 5L), index.overdueIds(TODAY, 1, 10));
+        assertEquals(List.of(5L), index.overdueIds(TODAY, 2, 10));
+        // another day is summed from the per-date sizes
+        assertEquals(2, index.countOverdue(TODAY.minusDays(2)));
+        verify(taskRepository, times(1)).findOpenTaskDueDates();
+    }
+
+    private static TaskSnapshot task(Long id, TaskStatus status, LocalDate dueDate) {
+        return new TaskSnapshot(id, 7L, status, dueDate, Set.of(), Set.of());
+    }
+}
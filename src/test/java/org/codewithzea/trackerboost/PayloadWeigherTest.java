@@ -0,0 +1,59 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.cache.PayloadWeigher;
+import org.codewithzea.trackerboost.project.ProjectDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadWeigherTest {
+
+    private final PayloadWeigher weigher = new PayloadWeigher();
+
+    @Test
+    void weigh_ShouldScaleWithPageContent() {
+        long single = PayloadWeigher.estimate(project(1), 0);
+        int page = weigher.weigh("0:0-100", page(100));
+
+        assertTrue(single > 100, "A DTO must count its strings and boxed fields");
+        assertTrue(page > 100 * single, "A page of 100 DTOs must weigh about 100 DTOs, was " + page + " vs " + single);
+    }
+
+    @Test
+    void maximumWeight_ShouldBoundCacheByPayloadRatherThanEntryCount() {
+        long bound = 4L * weigher.weigh("k", page(100));
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumWeight(bound)
+                .weigher(weigher)
+                .executor(Runnable::run)
+                .build();
+
+        for (int i = 0; i < 20; i++) {
+            cache.put("page-" + i, page(100));
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() <= 4, "Only four full pages fit, found " + cache.estimatedSize());
+        assertTrue(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= bound);
+    }
+
+    private static Page<ProjectDTO> page(int size) {
+        List<ProjectDTO> content = IntStream.range(0, size).mapToObj(PayloadWeigherTest::project).toList();
+        return new PageImpl<>(content, PageRequest.of(0, size), 1000);
+    }
+
+    private static ProjectDTO project(int i) {
+        return new ProjectDTO((long) i, "Project " + i, "Description of project number " + i,
+                LocalDate.of(2030, 1, 1), "ACTIVE", 7L);
+    }
+}
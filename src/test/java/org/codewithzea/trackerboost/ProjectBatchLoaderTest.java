@@ -0,0 +1,125 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.project.Project;
+import org.codewithzea.trackerboost.project.ProjectBatchLoader;
+import org.codewithzea.trackerboost.project.ProjectDTO;
+import org.codewithzea.trackerboost.project.ProjectRepository;
+import org.codewithzea.trackerboost.project.ProjectStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProjectBatchLoaderTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final List<Set<Long>> queries = new CopyOnWriteArrayList<>();
+    private CaffeineCacheManager cacheManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheManager = new CaffeineCacheManager("projects");
+        when(projectRepository.findAllById(any())).thenAnswer(invocation -> {
+            Set<Long> ids = new HashSet<>((Collection<Long>) invocation.getArgument(0));
+            queries.add(ids);
+            return ids.stream().filter(id -> id < 50).map(ProjectBatchLoaderTest::project).toList();
+        });
+    }
+
+    @Test
+    void getAll_ShouldLoadOnlyMissesInOneQueryAndKeepRequestOrder() {
+        ProjectBatchLoader loader = new ProjectBatchLoader(projectRepository, cacheManager, Duration.ofMillis(5), 100, Duration.ofSeconds(5));
+        cacheManager.getCache("projects").put(1L, dto(1L));
+
+        List<ProjectDTO> first = loader.getAll(List.of(3L, 1L, 2L, 99L));
+        List<ProjectDTO> second = loader.getAll(List.of(2L, 3L));
+
+        assertEquals(List.of(3L, 1L, 2L), first.stream().map(ProjectDTO::id).toList());
+        assertEquals(List.of(2L, 3L), second.stream().map(ProjectDTO::id).toList());
+        assertEquals(List.of(Set.of(2L, 3L, 99L)), queries, "One IN query for the misses, none for hits");
+    }
+
+    @Test
+    void load_ShouldCoalesceConcurrentLookupsIntoOneQuery() throws Exception {
+        ProjectBatchLoader loader = new ProjectBatchLoader(projectRepository, cacheManager, Duration.ofMillis(200), 100, Duration.ofSeconds(5));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ProjectDTO>> results = new ArrayList<>();
+        for (long id = 1; id <= 8; id++) {
+            long projectId = id;
+            results.add(pool.submit(() -> {
+                start.await();
+                return loader.load(projectId);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1L, results.get(i).get(5, TimeUnit.SECONDS).id());
+        }
+        pool.shutdown();
+        assertEquals(1, queries.size());
+        assertEquals(8, queries.get(0).size());
+    }
+
+    @Test
+    void load_ShouldFlushFullBatchWithoutWaitingForWindowAndReturnNullForUnknownId() {
+        ProjectBatchLoader loader = new ProjectBatchLoader(projectRepository, cacheManager, Duration.ofSeconds(30), 1, Duration.ofSeconds(5));
+
+        assertEquals(5L, loader.load(5L).id());
+        assertNull(loader.load(77L));
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void shutdown_ShouldRunTheScheduledFlushAndServeLateCallersInline() throws Exception {
+        ProjectBatchLoader loader = new ProjectBatchLoader(projectRepository, cacheManager, Duration.ofMillis(200), 100, Duration.ofSeconds(5));
+        CompletableFuture<ProjectDTO> result = new CompletableFuture<>();
+        Thread caller = new Thread(() -> result.complete(loader.load(4L)));
+        caller.start();
+        // parked on its batch, which is still waiting for the timer
+        while (caller.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        loader.shutdown();
+
+        assertEquals(4L, result.get(5, TimeUnit.SECONDS).id());
+        assertEquals(6L, loader.load(6L).id());
+        assertEquals(List.of(Set.of(4L), Set.of(6L)), queries);
+    }
+
+    @Test
+    void load_ShouldGiveUpAfterTheTimeout() {
+        ProjectBatchLoader loader = new ProjectBatchLoader(projectRepository, cacheManager, Duration.ofSeconds(30), 100, Duration.ofMillis(50));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> loader.load(4L));
+
+        assertTrue(e.getMessage().startsWith("Timed out"));
+        assertTrue(queries.isEmpty());
+    }
+
+    private static Project project(Long id) {
+        return Project.builder()
+                .id(id)
+                .name("Project " + id)
+                .deadline(LocalDate.of(2030, 1, 1))
+                .status(ProjectStatus.ACTIVE)
+                .managerId(7L)
+                .build();
+    }
+
+    private static ProjectDTO dto(Long id) {
+        return new ProjectDTO(id, "Cached " + id, null, LocalDate.of(2030, 1, 1), "ACTIVE", 7L);
+    }
+}
@@ -0,0 +1,61 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.project.ProjectCacheEvictor;
+import org.codewithzea.trackerboost.project.ProjectCacheGenerations;
+import org.codewithzea.trackerboost.project.ProjectChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProjectCacheEvictorTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private ProjectCacheGenerations generations;
+    private ProjectCacheEvictor evictor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("projects", "projectTasks", "allProjects");
+        generations = new ProjectCacheGenerations("caffeine", mock(ObjectProvider.class));
+        evictor = new ProjectCacheEvictor(cacheManager, generations);
+    }
+
+    @Test
+    void onProjectChanged_ShouldMoveListCachesToNewGenerationWithoutClearingThem() {
+        Cache allProjects = cacheManager.getCache("allProjects");
+        String oldKey = generations.current(ProjectCacheGenerations.ALL_PROJECTS) + ":0-10-UNSORTED";
+        allProjects.put(oldKey, "page");
+        allProjects.put(generations.current(ProjectCacheGenerations.ALL_PROJECTS) + ":1-10-UNSORTED", "page");
+
+        evictor.onProjectChanged(new ProjectChangedEvent(1L, false));
+
+        String newKey = generations.current(ProjectCacheGenerations.ALL_PROJECTS) + ":0-10-UNSORTED";
+        assertNotEquals(oldKey, newKey);
+        assertNull(allProjects.get(newKey), "Readers must miss on the new generation");
+        assertNotNull(allProjects.get(oldKey), "Old pages age out instead of being wiped");
+        assertEquals(1, generations.current(ProjectCacheGenerations.PROJECT_SUMMARIES));
+        assertEquals(1, generations.current(ProjectCacheGenerations.PROJECTS_WITHOUT_TASKS));
+    }
+
+    @Test
+    void onProjectChanged_ShouldEvictOnlyTheChangedProject() {
+        Cache projects = cacheManager.getCache("projects");
+        Cache projectTasks = cacheManager.getCache("projectTasks");
+        projects.put(1L, "one");
+        projects.put(2L, "two");
+        projectTasks.put(1L, "tasks");
+
+        evictor.onProjectChanged(new ProjectChangedEvent(1L, true));
+
+        assertNull(projects.get(1L));
+        assertNotNull(projects.get(2L));
+        assertNull(projectTasks.get(1L));
+    }
+}
@@ -0,0 +1,264 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.audit.AuditLogService;
+import org.codewithzea.trackerboost.developer.Developer;
+import org.codewithzea.trackerboost.exception.ResourceNotFoundException;
+import org.codewithzea.trackerboost.optimize.ProjectListDTO;
+import org.codewithzea.trackerboost.project.Project;
+import org.codewithzea.trackerboost.project.ProjectBatchLoader;
+import org.codewithzea.trackerboost.project.ProjectCacheGenerations;
+import org.codewithzea.trackerboost.project.ProjectChangedEvent;
+import org.codewithzea.trackerboost.project.ProjectDTO;
+import org.codewithzea.trackerboost.project.ProjectRepository;
+import org.codewithzea.trackerboost.project.ProjectService;
+import org.codewithzea.trackerboost.project.ProjectStatsDTO;
+import org.codewithzea.trackerboost.project.ProjectStatus;
+import org.codewithzea.trackerboost.project.ProjectTaskCounts;
+import org.codewithzea.trackerboost.task.Task;
+import org.codewithzea.trackerboost.task.TaskChangedEvent;
+import org.codewithzea.trackerboost.task.TaskSnapshot;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.task.TasksDeletedEvent;
+import org.codewithzea.trackerboost.user.Role;
+import org.codewithzea.trackerboost.user.UserEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@RecordApplicationEvents
+@Import({ProjectService.class, ProjectCacheGenerations.class, ProjectTaskCounts.class, ProjectBatchLoader.class})
+class ProjectQueryCountTest {
+
+    private static final int PROJECT_COUNT = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectTaskCounts projectTaskCounts;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @MockitoBean
+    private AuditLogService auditLogService;
+
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Statistics statistics;
+    private final List<Project> projects = new ArrayList<>();
+    private final List<UserEntity> managers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int m = 0; m < 5; m++) {
+            managers.add(entityManager.persist(UserEntity.builder()
+                    .firstName("Manager")
+                    .lastName("No" + m)
+                    .email("manager" + m + "@example.com")
+                    .password("secret")
+                    .role(Role.ROLE_MANAGER)
+                    .build()));
+        }
+
+        // Every third project has two tasks, the rest none
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setDeadline(LocalDate.now().plusMonths(1));
+            project.setStatus(ProjectStatus.ACTIVE);
+            project.setManager(managers.get(i % managers.size()));
+            projects.add(entityManager.persist(project));
+            if (i % 3 == 0) {
+                for (int t = 0; t < 2; t++) {
+                    Task task = new Task();
+                    task.setTitle("Task " + i + "-" + t);
+                    task.setStatus(TaskStatus.PENDING);
+                    task.setDueDate(LocalDate.now().plusDays(t));
+                    task.setProject(project);
+                    entityManager.persist(task);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findSummariesWithoutTasks_ShouldPageProjectionsWithoutLoadingEntities() {
+        Page<ProjectListDTO> page = projectRepository.findSummariesWithoutTasks(PageRequest.of(1, 5, Sort.by("id")));
+
+        assertEquals(20, page.getTotalElements());
+        assertEquals(5, page.getNumberOfElements());
+        assertEquals(projects.get(8).getId(), page.getContent().get(0).id());
+        assertEquals(2, statistics.getPrepareStatementCount(), "One page query and one count query");
+        assertEquals(0, statistics.getEntityLoadCount(), "Projection must not load Project or UserEntity rows");
+    }
+
+    @Test
+    void getAllProjects_ShouldNotLoadManagersForAPageOfProjects() {
+        // What GET /api/v1/projects?size=100 runs on a cache miss
+        Page<ProjectDTO> page = projectService.getAllProjects(PageRequest.of(0, 100, Sort.by("deadline")));
+
+        assertEquals(PROJECT_COUNT, page.getNumberOfElements());
+        assertEquals(managers.get(4).getId(), page.getContent().get(4).managerId());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Only the page query; no count, no manager selects");
+        assertEquals(0, statistics.getEntityStatistics(UserEntity.class.getName()).getLoadCount(),
+                "Manager must stay an uninitialized proxy");
+    }
+
+    @Test
+    void getProjectStats_ShouldAggregateInOneStatement() {
+        Project project = projects.get(1);
+        Developer ada = new Developer();
+        ada.setName("Ada");
+        ada.setEmail("ada@example.com");
+        Developer bob = new Developer();
+        bob.setName("Bob");
+        bob.setEmail("bob@example.com");
+        entityManager.persist(ada);
+        entityManager.persist(bob);
+        LocalDate today = LocalDate.now();
+        persistTask(project, TaskStatus.PENDING, today.minusDays(2), Set.of(ada));
+        persistTask(project, TaskStatus.PENDING, today.plusDays(5), Set.of(ada, bob));
+        persistTask(project, TaskStatus.IN_PROGRESS, today.plusDays(3), Set.of(bob));
+        persistTask(project, TaskStatus.DONE, today.minusDays(9), Set.of());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ProjectStatsDTO stats = projectService.getProjectStats(project.getId());
+
+        assertEquals(4, stats.totalTasks());
+        assertEquals(Map.of("PENDING", 2L, "IN_PROGRESS", 1L, "DONE", 1L), stats.tasksByStatus());
+        assertEquals(1, stats.overdueTasks());
+        assertEquals(today.plusDays(3), stats.nextDueDate());
+        assertEquals(2, stats.assigneeCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        ProjectStatsDTO empty = projectService.getProjectStats(projects.get(2).getId());
+        assertEquals(0, empty.totalTasks());
+        assertTrue(empty.tasksByStatus().isEmpty());
+        assertNull(empty.nextDueDate());
+        assertThrows(ResourceNotFoundException.class, () -> projectService.getProjectStats(-1L));
+    }
+
+    @Test
+    void deleteProject_ShouldUseSetBasedDeletesWhateverTheTaskCount() {
+        Project project = projects.get(4);
+        Developer ada = new Developer();
+        ada.setName("Ada");
+        ada.setEmail("ada@example.com");
+        entityManager.persist(ada);
+        for (int i = 0; i < 40; i++) {
+            persistTask(project, i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.DONE,
+                    LocalDate.now().plusDays(i), Set.of(ada));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        projectService.deleteProject(project.getId());
+        entityManager.flush();
+
+        assertEquals(5, statistics.getPrepareStatementCount(),
+                "exists, snapshot read, and one DELETE each for task_developer, tasks and projects");
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertNull(entityManager.find(Project.class, project.getId()));
+        assertEquals(0L, entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(t) FROM Task t WHERE t.project.id = :id", Long.class)
+                .setParameter("id", project.getId()).getSingleResult());
+        verify(auditLogService, times(1)).log(eq("DELETE"), eq("Project"), eq(project.getId().toString()),
+                contains("\"tasksDeleted\":40"));
+
+        List<TasksDeletedEvent> deleted = events.stream(TasksDeletedEvent.class).toList();
+        assertEquals(1, deleted.size());
+        assertEquals(40, deleted.get(0).tasks().size());
+        assertEquals(Set.of(ada.getId()), deleted.get(0).tasks().get(0).developerIds());
+        assertEquals(1, events.stream(ProjectChangedEvent.class).filter(ProjectChangedEvent::deleted).count());
+    }
+
+    private void persistTask(Project project, TaskStatus status, LocalDate dueDate, Set<Developer> developers) {
+        Task task = new Task();
+        task.setTitle("Stats " + status + " " + dueDate);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        task.setProject(project);
+        task.setAssignedDevelopers(developers);
+        entityManager.persist(task);
+    }
+
+    @Test
+    void projectTaskCounts_ShouldAnswerEmptinessFromMemoryAfterSeed() {
+        projectTaskCounts.reconcile();
+        statistics.clear();
+
+        assertTrue(projectTaskCounts.hasTasks(projects.get(0).getId()));
+        assertEquals(2, projectTaskCounts.taskCount(projects.get(3).getId()));
+        assertFalse(projectTaskCounts.hasTasks(projects.get(1).getId()));
+        assertEquals(20, projectTaskCounts.emptyProjectCount());
+        List<Long> firstTwo = projectTaskCounts.emptyProjectIds(0, 2);
+        assertEquals(List.of(projects.get(1).getId(), projects.get(2).getId()), firstTwo);
+
+        Long movedFrom = projects.get(0).getId();
+        Long movedTo = projects.get(1).getId();
+        TaskSnapshot before = new TaskSnapshot(99L, movedFrom, TaskStatus.PENDING, LocalDate.now(), Set.of(), Set.of());
+        TaskSnapshot after = new TaskSnapshot(99L, movedTo, TaskStatus.PENDING, LocalDate.now(), Set.of(), Set.of());
+        projectTaskCounts.onTaskChanged(TaskChangedEvent.updated(before, after));
+        projectTaskCounts.onProjectChanged(new ProjectChangedEvent(projects.get(2).getId(), true));
+
+        assertEquals(1, projectTaskCounts.taskCount(movedFrom));
+        assertTrue(projectTaskCounts.hasTasks(movedTo));
+        assertEquals(18, projectTaskCounts.emptyProjectCount());
+        assertFalse(projectTaskCounts.emptyProjectIds(0, 2).contains(movedTo));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,68 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.project.ProjectChangedEvent;
+import org.codewithzea.trackerboost.project.ProjectRepository;
+import org.codewithzea.trackerboost.project.ProjectTaskCounts;
+import org.codewithzea.trackerboost.task.TaskChangedEvent;
+import org.codewithzea.trackerboost.task.TaskSnapshot;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectTaskCountsTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private ProjectTaskCounts counts;
+
+    @BeforeEach
+    void setUp() {
+        counts = new ProjectTaskCounts(projectRepository);
+        when(projectRepository.countTasksPerProject()).thenReturn(List.of(
+                new Object[]{1L, 2L},
+                new Object[]{2L, 0L},
+                new Object[]{3L, 0L}));
+        counts.seed();
+    }
+
+    @Test
+    void reconcile_ShouldReplayEventsCommittedWhileTheQueryRuns() throws Exception {
+        when(projectRepository.countTasksPerProject()).thenAnswer(invocation -> {
+            // the listeners must not wait for the query
+            Thread writer = new Thread(() -> {
+                counts.onTaskChanged(TaskChangedEvent.created(task(10L, 2L)));
+                counts.onProjectChanged(new ProjectChangedEvent(3L, true));
+                counts.onProjectChanged(new ProjectChangedEvent(4L, false));
+            });
+            writer.start();
+            writer.join();
+            return List.of(
+                    new Object[]{1L, 2L},
+                    new Object[]{2L, 0L},
+                    new Object[]{3L, 0L});
+        });
+
+        counts.reconcile();
+
+        assertTrue(counts.hasTasks(2L));
+        assertEquals(1, counts.emptyProjectCount());
+        assertEquals(List.of(4L), counts.emptyProjectIds(0, 10));
+    }
+
+    private static TaskSnapshot task(Long id, Long projectId) {
+        return new TaskSnapshot(id, projectId, TaskStatus.PENDING, LocalDate.now(), Set.of(), Set.of());
+    }
+}
@@ -0,0 +1,67 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.config.QueryPlanSelfCheck;
+import org.codewithzea.trackerboost.config.StatementCapture;
+import org.codewithzea.trackerboost.project.ProjectRepository;
+import org.codewithzea.trackerboost.task.TaskRepository;
+import org.codewithzea.trackerboost.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({StatementCapture.class, QueryPlanSelfCheck.class})
+class QueryPlanSelfCheckTest {
+
+    @Autowired
+    private QueryPlanSelfCheck queryPlanSelfCheck;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void hotQueries_ShouldEachCallTheRepositoryMethodTheyAreNamedAfter() {
+        List<Object> repositories = List.of(mock(TaskRepository.class), mock(ProjectRepository.class), mock(UserRepository.class));
+        QueryPlanSelfCheck check = new QueryPlanSelfCheck(null, null, null,
+                (TaskRepository) repositories.get(0), (ProjectRepository) repositories.get(1), (UserRepository) repositories.get(2));
+
+        for (Map.Entry<String, Runnable> query : check.hotQueries().entrySet()) {
+            clearInvocations(repositories.toArray());
+            query.getValue().run();
+
+            List<String> called = new ArrayList<>();
+            for (Object repository : repositories) {
+                String type = mockingDetails(repository).getMockCreationSettings().getTypeToMock().getSimpleName();
+                for (Invocation invocation : mockingDetails(repository).getInvocations()) {
+                    called.add(type + "." + invocation.getMethod().getName());
+                }
+            }
+            assertEquals(List.of(query.getKey()), called);
+        }
+    }
+
+    @Test
+    void capture_ShouldYieldTheGeneratedSqlOfEveryHotQuery() {
+        for (Map.Entry<String, Runnable> query : queryPlanSelfCheck.hotQueries().entrySet()) {
+            String sql = statementCapture.capture(query.getValue());
+
+            assertNotNull(sql, query.getKey());
+            assertTrue(sql.toLowerCase().startsWith("select"), query.getKey() + ": " + sql);
+        }
+        // Outside a capture statements run as usual
+        assertTrue(userRepository.findByEmail("self-check@example.com").isEmpty());
+    }
+}
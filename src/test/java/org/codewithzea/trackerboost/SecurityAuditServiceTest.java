@@ -2,7 +2,7 @@ package org.codewithzea.trackerboost;
 
 
 import org.codewithzea.trackerboost.audit.AuditLog;
-import org.codewithzea.trackerboost.audit.AuditLogRepository;
+import org.codewithzea.trackerboost.audit.AuditLogWriter;
 import org.codewithzea.trackerboost.audit.SecurityAuditService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,7 +20,7 @@ import static org.mockito.Mockito.verify;
 class SecurityAuditServiceTest {
 
     @Mock
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
 
     @InjectMocks
     private SecurityAuditService securityAuditService;
@@ -38,7 +38,7 @@ class SecurityAuditServiceTest {
         securityAuditService.logLoginSuccess(testUsername, testIpAddress);
 
         // Assert
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(auditLogWriter).submit(auditLogCaptor.capture());
         AuditLog savedLog = auditLogCaptor.getValue();
 
         assertAll(
@@ -59,7 +59,7 @@ class SecurityAuditServiceTest {
         securityAuditService.logLoginFailure(testUsername, testIpAddress, testErrorMessage);
 
         // Assert
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(auditLogWriter).submit(auditLogCaptor.capture());
         AuditLog savedLog = auditLogCaptor.getValue();
 
         assertAll(
@@ -83,7 +83,7 @@ class SecurityAuditServiceTest {
         securityAuditService.logUnauthorizedAccess(action, testIpAddress, testErrorMessage);
 
         // Assert
-        verify(auditLogRepository).save(auditLogCaptor.capture());
+        verify(auditLogWriter).submit(auditLogCaptor.capture());
         AuditLog savedLog = auditLogCaptor.getValue();
 
         assertAll(
@@ -0,0 +1,265 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.audit.AuditArchiver;
+import org.codewithzea.trackerboost.audit.AuditChange;
+import org.codewithzea.trackerboost.audit.AuditLog;
+import org.codewithzea.trackerboost.audit.AuditLogEvent;
+import org.codewithzea.trackerboost.audit.AuditLogRepository;
+import org.codewithzea.trackerboost.audit.AuditLogService;
+import org.codewithzea.trackerboost.developer.Developer;
+import org.codewithzea.trackerboost.project.Project;
+import org.codewithzea.trackerboost.project.ProjectStatus;
+import org.codewithzea.trackerboost.task.TaskBatchResult;
+import org.codewithzea.trackerboost.task.TaskBatchService;
+import org.codewithzea.trackerboost.task.TaskDTO;
+import org.codewithzea.trackerboost.task.TaskRepository;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.user.Role;
+import org.codewithzea.trackerboost.user.UserEntity;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(TaskBatchService.class)
+class TaskBatchServiceTest {
+
+    private static final int TASK_COUNT = 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @MockitoBean
+    private AuditLogService auditLogService;
+
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private Project project;
+    private List<Developer> developers;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity manager = entityManager.persist(UserEntity.builder()
+                .firstName("Mia")
+                .lastName("Manager")
+                .email("mia@example.com")
+                .password("secret")
+                .role(Role.ROLE_MANAGER)
+                .build());
+
+        project = new Project();
+        project.setName("Batch");
+        project.setDeadline(LocalDate.now().plusMonths(1));
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setManager(manager);
+        entityManager.persist(project);
+
+        developers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Developer developer = new Developer();
+            developer.setName("Dev " + i);
+            developer.setEmail("dev" + i + "@example.com");
+            developers.add(entityManager.persist(developer));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createTasks_ShouldValidateWithBulkQueriesAndAuditOnce() {
+        List<TaskDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            dtos.add(dto(null, "Task " + i, project.getId(),
+                    Set.of(developers.get(i % 3).getId(), developers.get((i + 1) % 3).getId())));
+        }
+        dtos.add(dto(null, "Orphan", -1L, Set.of()));
+        dtos.add(dto(null, "Ghost dev", project.getId(), Set.of(-7L)));
+
+        List<TaskBatchResult> results = taskBatchService.createTasks(dtos, "mia@example.com");
+
+        assertEquals(TASK_COUNT + 2, results.size());
+        assertEquals(TASK_COUNT, results.stream()
+                .filter(r -> r.status() == TaskBatchResult.Status.CREATED && r.id() != null).count());
+        assertEquals(TaskBatchResult.Status.FAILED, results.get(TASK_COUNT).status());
+        assertEquals(TaskBatchResult.Status.FAILED, results.get(TASK_COUNT + 1).status());
+        // project ids + developers + one sequence call per 50 ids, no per-item lookups
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 2 + TASK_COUNT / 50 + 1, "Expected bulk validation but was " + statements);
+        verify(auditLogService, times(1)).logAll(eq("CREATE"), eq("Task"), eq("mia@example.com"), anyMap());
+
+        entityManager.flush();
+        assertEquals(TASK_COUNT, taskRepository.count());
+    }
+
+    @Test
+    void updateAndDeleteTasks_ShouldReportPerItemResults() {
+        List<TaskDTO> created = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            created.add(dto(null, "Task " + i, project.getId(), Set.of(developers.get(0).getId())));
+        }
+        List<Long> ids = taskBatchService.createTasks(created, "mia@example.com").stream()
+                .map(TaskBatchResult::id)
+                .toList();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskDTO> updates = new ArrayList<>();
+        for (Long id : ids) {
+            TaskDTO update = dto(id, "Renamed " + id, project.getId(), Set.of(developers.get(1).getId()));
+            update.setStatus("DONE");
+            updates.add(update);
+        }
+        updates.add(dto(Long.MAX_VALUE, "Missing", project.getId(), null));
+
+        List<TaskBatchResult> updated = taskBatchService.updateTasks(updates, "mia@example.com", null);
+        assertEquals(10, updated.stream().filter(r -> r.status() == TaskBatchResult.Status.UPDATED).count());
+        assertEquals(TaskBatchResult.Status.FAILED, updated.get(10).status());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(TaskStatus.DONE, taskRepository.findById(ids.get(0)).orElseThrow().getStatus());
+
+        List<Long> toDelete = new ArrayList<>(ids);
+        toDelete.add(Long.MAX_VALUE);
+        List<TaskBatchResult> deleted = taskBatchService.deleteTasks(toDelete, "mia@example.com", null);
+        assertEquals(10, deleted.stream().filter(r -> r.status() == TaskBatchResult.Status.DELETED).count());
+        assertEquals(TaskBatchResult.Status.FAILED, deleted.get(10).status());
+        assertEquals(0, taskRepository.count());
+        verify(auditLogService).logAll(eq("DELETE"), eq("Task"), any(), anyMap());
+    }
+
+    @Test
+    void updateAndDeleteTasks_ShouldRejectTasksNotAssignedToTheCaller() {
+        List<TaskDTO> created = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            created.add(dto(null, "Task " + i, project.getId(), Set.of(developers.get(i % 2).getId())));
+        }
+        List<Long> ids = taskBatchService.createTasks(created, "mia@example.com").stream()
+                .map(TaskBatchResult::id)
+                .toList();
+        entityManager.flush();
+        entityManager.clear();
+        Long owner = developers.get(0).getId();
+        Long outsider = developers.get(2).getId();
+
+        List<TaskBatchResult> denied = taskBatchService.deleteTasks(ids, "outsider@example.com", outsider);
+        assertTrue(denied.stream().allMatch(r -> r.status() == TaskBatchResult.Status.FAILED));
+        assertEquals("Not allowed to modify task " + ids.get(0), denied.get(0).error());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(4, taskRepository.count());
+
+        List<TaskDTO> updates = ids.stream()
+                .map(id -> dto(id, "Renamed " + id, project.getId(), null))
+                .toList();
+        List<TaskBatchResult> updated = taskBatchService.updateTasks(updates, "dev0@example.com", owner);
+        assertEquals(List.of(TaskBatchResult.Status.UPDATED, TaskBatchResult.Status.FAILED,
+                        TaskBatchResult.Status.UPDATED, TaskBatchResult.Status.FAILED),
+                updated.stream().map(TaskBatchResult::status).toList());
+
+        List<TaskBatchResult> deleted = taskBatchService.deleteTasks(ids, "dev0@example.com", owner);
+        assertEquals(2, deleted.stream().filter(r -> r.status() == TaskBatchResult.Status.DELETED).count());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(2, taskRepository.count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateTasks_ShouldAuditVersionedDiffsThatReconstructTheTask() {
+        Long id = taskBatchService.createTasks(List.of(dto(null, "Draft", project.getId(),
+                Set.of(developers.get(0).getId()))), "mia@example.com").get(0).id();
+        entityManager.flush();
+        entityManager.clear();
+        TaskDTO update = dto(id, "Final", project.getId(), Set.of(developers.get(1).getId()));
+        update.setStatus("DONE");
+
+        taskBatchService.updateTasks(List.of(update), "mia@example.com", null);
+
+        ArgumentCaptor<List<AuditChange>> changes = ArgumentCaptor.forClass(List.class);
+        verify(auditLogService).logChanges(eq("Task"), eq("mia@example.com"), changes.capture());
+        AuditChange change = changes.getValue().get(0);
+
+        // Run the captured change through the real service, numbered the way AuditVersioner would:
+        // version 1 holds the pre-batch snapshot, version 2 only the batch's patch
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        AuditLogRepository repository = mock(AuditLogRepository.class);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        AuditLogService audit = new AuditLogService(repository, publisher, mapper, mock(AuditArchiver.class));
+        audit.logChange("Task", change.entityId(), change.before(), change.before());
+        audit.logChanges("Task", "mia@example.com", changes.getValue());
+        ArgumentCaptor<AuditLogEvent> events = ArgumentCaptor.forClass(AuditLogEvent.class);
+        verify(publisher, times(2)).publishEvent(events.capture());
+        AuditLog v1 = events.getAllValues().get(0).entries().get(0);
+        AuditLog v2 = events.getAllValues().get(1).entries().get(0);
+        v1.setVersion(1L);
+        v2.setVersion(2L);
+        v2.setSnapshot(null);
+        when(repository.findInAllBuckets(any(Query.class))).thenAnswer(invocation ->
+                invocation.<Query>getArgument(0).getQueryObject().toJson().contains("snapshot")
+                        ? List.of(v1) : List.of(v2));
+
+        JsonNode state = audit.reconstruct("Task", id.toString(), 2);
+
+        assertFalse(v2.getChanges().isEmpty());
+        assertEquals(mapper.valueToTree(change.after()), state);
+        assertEquals("Final", state.get("title").asText());
+        assertEquals("DONE", state.get("status").asText());
+    }
+
+    private TaskDTO dto(Long id, String title, Long projectId, Set<Long> developerIds) {
+        return TaskDTO.builder()
+                .id(id)
+                .title(title)
+                .status("PENDING")
+                .dueDate(LocalDate.now().plusDays(3))
+                .projectId(projectId)
+                .assignedDeveloperIds(developerIds)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.project.ProjectCacheGenerations;
+import org.codewithzea.trackerboost.task.TaskCacheEvictor;
+import org.codewithzea.trackerboost.task.TaskChangedEvent;
+import org.codewithzea.trackerboost.task.TaskSnapshot;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.task.TasksDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TaskCacheEvictorTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+    private static final LocalDate YESTERDAY = LocalDate.now().minusDays(1);
+
+    private ConcurrentMapCacheManager cacheManager;
+    private ProjectCacheGenerations generations;
+    private TaskCacheEvictor evictor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(
+                "tasks", "projectTasks", "projectStats", "developerTasks", "userTasks", "overdueTasks");
+        generations = new ProjectCacheGenerations("caffeine", mock(ObjectProvider.class));
+        evictor = new TaskCacheEvictor(cacheManager, generations);
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            for (long id = 1; id <= 5; id++) {
+                cache.put(id, "cached");
+            }
+        }
+        cacheManager.getCache("overdueTasks").put(SimpleKey.EMPTY, "cached");
+    }
+
+    @Test
+    void onTaskChanged_ShouldEvictOldAndNewProjectAndEveryAffectedAssignee() {
+        // task 1 moves from project 1 to 2; developer 1 stays, 2 is removed and 3 added
+        TaskSnapshot before = task(1L, 1L, TOMORROW, Set.of(1L, 2L), Set.of(1L));
+        TaskSnapshot after = task(1L, 2L, TOMORROW, Set.of(1L, 3L), Set.of(2L));
+
+        evictor.onTaskChanged(TaskChangedEvent.updated(before, after));
+
+        assertEvicted("tasks", 1L);
+        assertKept("tasks", 2L);
+        assertEvicted("projectTasks", 1L, 2L);
+        assertEvicted("projectStats", 1L, 2L);
+        assertKept("projectTasks", 3L);
+        assertEvicted("developerTasks", 1L, 2L, 3L);
+        assertKept("developerTasks", 4L);
+        assertEvicted("userTasks", 1L, 2L);
+        assertKept("userTasks", 3L);
+        assertNotNull(cacheManager.getCache("overdueTasks").get(SimpleKey.EMPTY), "nothing overdue was touched");
+        assertEquals(1, generations.current(ProjectCacheGenerations.PROJECTS_WITHOUT_TASKS));
+    }
+
+    @Test
+    void onTaskChanged_WithinProject_ShouldKeepProjectListGeneration() {
+        TaskSnapshot before = task(1L, 1L, TOMORROW, Set.of(1L), Set.of());
+        TaskSnapshot after = task(1L, 1L, TOMORROW, Set.of(1L), Set.of());
+
+        evictor.onTaskChanged(TaskChangedEvent.updated(before, after));
+
+        assertEvicted("projectTasks", 1L);
+        assertKept("projectTasks", 2L);
+        assertEquals(0, generations.current(ProjectCacheGenerations.PROJECTS_WITHOUT_TASKS));
+    }
+
+    @Test
+    void onTaskChanged_ShouldEvictOverdueWhenEitherSideIsOverdue() {
+        Cache overdue = cacheManager.getCache("overdueTasks");
+
+        // an overdue task gets a later due date
+        evictor.onTaskChanged(TaskChangedEvent.updated(
+                task(1L, 1L, YESTERDAY, Set.of(), Set.of()), task(1L, 1L, TOMORROW, Set.of(), Set.of())));
+        assertNull(overdue.get(SimpleKey.EMPTY));
+
+        overdue.put(SimpleKey.EMPTY, "cached");
+        evictor.onTaskChanged(TaskChangedEvent.created(task(6L, 1L, YESTERDAY, Set.of(), Set.of())));
+        assertNull(overdue.get(SimpleKey.EMPTY));
+
+        overdue.put(SimpleKey.EMPTY, "cached");
+        evictor.onTaskChanged(TaskChangedEvent.deleted(task(2L, 1L, TOMORROW, Set.of(), Set.of())));
+        assertNotNull(overdue.get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    void onTasksDeleted_ShouldEvictEveryDeletedTaskAndItsAssignees() {
+        evictor.onTasksDeleted(new TasksDeletedEvent(1L, List.of(
+                task(1L, 1L, TOMORROW, Set.of(1L), Set.of(1L)),
+                task(2L, 1L, YESTERDAY, Set.of(2L), Set.of()))));
+
+        assertEvicted("tasks", 1L, 2L);
+        assertKept("tasks", 3L);
+        assertEvicted("projectTasks", 1L);
+        assertEvicted("projectStats", 1L);
+        assertKept("projectTasks", 2L);
+        assertEvicted("developerTasks", 1L, 2L);
+        assertKept("developerTasks", 3L);
+        assertEvicted("userTasks", 1L);
+        assertKept("userTasks", 2L);
+        assertNull(cacheManager.getCache("overdueTasks").get(SimpleKey.EMPTY));
+    }
+
+    private void assertEvicted(String cacheName, Long... ids) {
+        for (Long id : ids) {
+            assertNull(cacheManager.getCache(cacheName).get(id), cacheName + "::" + id + " should be evicted");
+        }
+    }
+
+    private void assertKept(String cacheName, Long... ids) {
+        for (Long id : ids) {
+            assertNotNull(cacheManager.getCache(cacheName).get(id), cacheName + "::" + id + " should be kept");
+        }
+    }
+
+    private static TaskSnapshot task(Long id, Long projectId, LocalDate dueDate, Set<Long> developerIds, Set<Long> userIds) {
+        return new TaskSnapshot(id, projectId, TaskStatus.PENDING, dueDate, developerIds, userIds);
+    }
+}
@@ -0,0 +1,37 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.task.TaskCursor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCursorTest {
+
+    @Test
+    void encode_ShouldBeUrlSafeAndDecodeBack() {
+        TaskCursor cursor = new TaskCursor(LocalDate.of(2030, 1, 31), 9_007_199_254_740_993L);
+
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), "token should need no URL escaping: " + token);
+        assertEquals(cursor, TaskCursor.decode(token));
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode("***"));
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode(encode("2030-01-31")));
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode(encode("2030-02-30|5")));
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode(encode("2030-01-31|five")));
+        assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode(encode("|5")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
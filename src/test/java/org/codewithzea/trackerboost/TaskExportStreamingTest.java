@@ -0,0 +1,91 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.task.TaskExportService;
+import org.codewithzea.trackerboost.task.TaskRepository;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.task.TaskView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs in its own surefire execution with -Xmx64m: a million TaskDTOs held in a
+ * list would not fit, so finishing proves rows are written as they are read.
+ */
+class TaskExportStreamingTest {
+
+    private static final long ROWS = 1_000_000;
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskExportService exportService =
+            new TaskExportService(taskRepository, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void exportByProjectId_ShouldStreamMillionRowsInConstantMemory() throws Exception {
+        when(taskRepository.streamViewsByProjectId(1L))
+                .thenReturn(LongStream.rangeClosed(1, ROWS).mapToObj(TaskExportStreamingTest::view));
+        CountingOutputStream out = new CountingOutputStream();
+
+        long rows = exportService.exportByProjectId(1L, out);
+
+        assertEquals(ROWS, rows);
+        assertEquals(ROWS, out.lines);
+        assertFalse(out.closed, "Export must leave the response stream open");
+    }
+
+    @Test
+    void writeNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeNdjson(LongStream.rangeClosed(1, 2).mapToObj(TaskExportStreamingTest::view), out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].contains("\"assignedDeveloperIds\":[7,8]"));
+        assertTrue(out.toString().endsWith("\n"));
+    }
+
+    private static TaskView view(long id) {
+        return new TaskView() {
+            public Long getId() { return id; }
+            public String getTitle() { return "Task " + id; }
+            public String getDescription() { return "Synthetic export row"; }
+            public TaskStatus getStatus() { return TaskStatus.PENDING; }
+            public LocalDate getDueDate() { return LocalDate.of(2030, 1, 1); }
+            public Long getProjectId() { return 1L; }
+            public String getDeveloperIds() { return "7,8"; }
+        };
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long lines;
+        boolean closed;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') lines++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') lines++;
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.audit.AuditLogService;
+import org.codewithzea.trackerboost.developer.Developer;
+import org.codewithzea.trackerboost.optimize.TaskSummaryDTO;
+import org.codewithzea.trackerboost.project.Project;
+import org.codewithzea.trackerboost.project.ProjectStatus;
+import org.codewithzea.trackerboost.task.OverdueTaskIndex;
+import org.codewithzea.trackerboost.task.Task;
+import org.codewithzea.trackerboost.task.TaskAssembler;
+import org.codewithzea.trackerboost.task.TaskCursorPage;
+import org.codewithzea.trackerboost.task.TaskDTO;
+import org.codewithzea.trackerboost.task.TaskService;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.task.TaskStatusCounters;
+import org.codewithzea.trackerboost.user.Role;
+import org.codewithzea.trackerboost.user.UserEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "app.tasks.in-list-chunk-size=40"
+})
+@Import({TaskService.class, TaskAssembler.class, OverdueTaskIndex.class})
+class TaskQueryCountTest {
+
+    private static final int TASK_COUNT = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskService taskService;
+
+    @MockitoBean
+    private AuditLogService auditLogService;
+
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private TaskStatusCounters taskStatusCounters;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private OverdueTaskIndex overdueTaskIndex;
+
+    private Statistics statistics;
+    private Project project;
+    private List<Developer> developers;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity manager = entityManager.persist(UserEntity.builder()
+                .firstName("Mia")
+                .lastName("Manager")
+                .email("mia@example.com")
+                .password("secret")
+                .role(Role.ROLE_MANAGER)
+                .build());
+
+        project = new Project();
+        project.setName("Query Count");
+        project.setDeadline(LocalDate.now().plusMonths(1));
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setManager(manager);
+        entityManager.persist(project);
+
+        developers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Developer developer = new Developer();
+            developer.setName("Dev " + i);
+            developer.setEmail("dev" + i + "@example.com");
+            developers.add(entityManager.persist(developer));
+        }
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setStatus(TaskStatus.PENDING);
+            task.setDueDate(LocalDate.now().minusDays(i % 10));
+            task.setProject(project);
+            task.setAssignedDevelopers(Set.of(developers.get(i % 3), developers.get((i + 1) % 3)));
+            entityManager.persist(task);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllTasks_ShouldUseBoundedStatementsForFullPage() {
+        Page<TaskDTO> page = taskService.getAllTasks(PageRequest.of(0, TASK_COUNT));
+
+        assertEquals(TASK_COUNT, page.getNumberOfElements());
+        page.forEach(dto -> assertEquals(2, dto.getAssignedDeveloperIds().size()));
+        // page query + count query
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected at most 2 statements but was " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "Projection path should not load Task entities");
+    }
+
+    @Test
+    void scrollTasks_ShouldUseBoundedStatementsForFullPage() {
+        List<TaskDTO> tasks = taskService.getTasksAfter(null, TASK_COUNT / 2, false).content();
+
+        assertEquals(TASK_COUNT / 2, tasks.size());
+        tasks.forEach(dto -> assertEquals(2, dto.getAssignedDeveloperIds().size()));
+        // slice query + one bulk developer-id query
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected at most 2 statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void scrollTasks_ShouldContinueAfterCursorInBothDirections() {
+        Comparator<TaskDTO> byDueDateThenId = Comparator.comparing(TaskDTO::getDueDate).thenComparing(TaskDTO::getId);
+
+        List<TaskDTO> ascending = scrollAll(false);
+        List<TaskDTO> descending = scrollAll(true);
+
+        assertEquals(TASK_COUNT, ascending.stream().map(TaskDTO::getId).distinct().count());
+        assertEquals(ascending.stream().sorted(byDueDateThenId).toList(), ascending);
+        assertEquals(TASK_COUNT, descending.stream().map(TaskDTO::getId).distinct().count());
+        assertEquals(descending.stream().sorted(byDueDateThenId.reversed()).toList(), descending);
+    }
+
+    @Test
+    void scrollTasks_WithMalformedCursor_ShouldRejectIt() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksAfter("not-a-cursor", 10, false));
+    }
+
+    @Test
+    void getTasksByProjectId_ShouldNotIssueStatementPerTask() {
+        List<TaskDTO> tasks = taskService.getTasksByProjectId(project.getId());
+
+        assertEquals(TASK_COUNT, tasks.size());
+        tasks.forEach(dto -> assertEquals(2, dto.getAssignedDeveloperIds().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "Projection path should not load Task entities");
+    }
+
+    @Test
+    void getTaskSummariesByProjectId_ShouldMapStatusCodeBackToName() {
+        List<TaskSummaryDTO> summaries = taskService.getTaskSummariesByProjectId(project.getId());
+
+        assertEquals(TASK_COUNT, summaries.size());
+        summaries.forEach(summary -> assertEquals("PENDING", summary.status()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getTasksByDeveloperId_ShouldNotIssueStatementPerTask() {
+        List<TaskDTO> tasks = taskService.getTasksByDeveloperId(developers.get(0).getId());
+
+        assertFalse(tasks.isEmpty());
+        tasks.forEach(dto -> assertTrue(dto.getAssignedDeveloperIds().contains(developers.get(0).getId())));
+        tasks.forEach(dto -> assertEquals(2, dto.getAssignedDeveloperIds().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getOverdueTasks_ShouldNotIssueStatementPerTask() {
+        overdueTaskIndex.rebuild();
+        statistics.clear();
+
+        List<TaskDTO> tasks = taskService.getOverdueTasks();
+
+        assertEquals(TASK_COUNT - TASK_COUNT / 10, tasks.size());
+        // ids come from the index; one IN projection per 40 ids loads the rows
+        assertEquals(3, statistics.getPrepareStatementCount());
+        for (int i = 1; i < tasks.size(); i++) {
+            assertFalse(tasks.get(i).getDueDate().isBefore(tasks.get(i - 1).getDueDate()));
+        }
+    }
+
+    @Test
+    void getOverdueTasksPage_ShouldLoadOnlyTheRequestedPage() {
+        overdueTaskIndex.rebuild();
+        statistics.clear();
+
+        Page<TaskDTO> page = taskService.getOverdueTasks(PageRequest.of(1, 20));
+
+        assertEquals(20, page.getNumberOfElements());
+        assertEquals(TASK_COUNT - TASK_COUNT / 10, page.getTotalElements());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        List<TaskDTO> all = taskService.getOverdueTasks();
+        assertEquals(all.subList(20, 40).stream().map(TaskDTO::getId).toList(),
+                page.getContent().stream().map(TaskDTO::getId).toList());
+    }
+
+    // Pages of 30 over 100 tasks whose due dates repeat, so cursors land inside runs of equal dates
+    private List<TaskDTO> scrollAll(boolean descending) {
+        List<TaskDTO> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskCursorPage page = taskService.getTasksAfter(cursor, 30, descending);
+            seen.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+}
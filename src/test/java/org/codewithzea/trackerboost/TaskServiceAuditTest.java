@@ -20,6 +20,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.Set;
@@ -48,6 +49,9 @@ class TaskServiceAuditTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -122,17 +126,21 @@ class TaskServiceAuditTest {
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(taskRepository.save(any(Task.class))).thenReturn(updatedTask); // Return the updated task
-        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // Act
         taskService.updateTask(1L, testTaskDTO);
 
-        // Assert
-        verify(auditLogService).log(
-                eq("UPDATE"),
+        // Assert: a diff of the DTOs, no full-entity serialization
+        ArgumentCaptor<TaskDTO> beforeCaptor = ArgumentCaptor.forClass(TaskDTO.class);
+        ArgumentCaptor<TaskDTO> afterCaptor = ArgumentCaptor.forClass(TaskDTO.class);
+        verify(auditLogService).logChange(
                 eq("Task"),
                 eq("1"), // Verify it uses the ID from the updated task
-                anyString());
+                beforeCaptor.capture(),
+                afterCaptor.capture());
+        assertEquals("Test Task", beforeCaptor.getValue().getTitle());
+        assertEquals("Updated Task", afterCaptor.getValue().getTitle());
+        verifyNoInteractions(objectMapper);
     }
 
     @Test
@@ -0,0 +1,90 @@
+package org.codewithzea.trackerboost;
+
+
+import org.codewithzea.trackerboost.task.TaskChangedEvent;
+import org.codewithzea.trackerboost.task.TaskRepository;
+import org.codewithzea.trackerboost.task.TaskSnapshot;
+import org.codewithzea.trackerboost.task.TaskStatus;
+import org.codewithzea.trackerboost.task.TaskStatusCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusCountersTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private SimpleMeterRegistry registry;
+    private TaskStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        counters = new TaskStatusCounters(taskRepository, registry);
+        when(taskRepository.countTasksGroupedByStatus()).thenReturn(List.of(
+                new Object[]{TaskStatus.PENDING, 3L},
+                new Object[]{TaskStatus.DONE, 1L}));
+        counters.seed();
+    }
+
+    @Test
+    void snapshot_ShouldFollowStatusTransitionsWithoutQuerying() {
+        counters.onTaskChanged(TaskChangedEvent.created(snapshot(10L, TaskStatus.PENDING)));
+        counters.onTaskChanged(TaskChangedEvent.updated(snapshot(1L, TaskStatus.PENDING), snapshot(1L, TaskStatus.IN_PROGRESS)));
+        counters.onTaskChanged(TaskChangedEvent.updated(snapshot(2L, TaskStatus.PENDING), snapshot(2L, TaskStatus.PENDING)));
+        counters.onTaskChanged(TaskChangedEvent.deleted(snapshot(3L, TaskStatus.DONE)));
+
+        Map<String, Long> counts = counters.snapshot();
+
+        assertEquals(Map.of("PENDING", 3L, "IN_PROGRESS", 1L), counts);
+        verify(taskRepository, times(1)).countTasksGroupedByStatus();
+    }
+
+    @Test
+    void reconcile_ShouldCorrectCountersAndPublishDrift() {
+        counters.onTaskChanged(TaskChangedEvent.created(snapshot(10L, TaskStatus.PENDING)));
+        // database never saw that create, and one DONE task was removed behind our back
+        when(taskRepository.countTasksGroupedByStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{TaskStatus.PENDING, 3L}));
+
+        counters.reconcile();
+
+        assertEquals(Map.of("PENDING", 3L), counters.snapshot());
+        assertEquals(2.0, registry.get("tasks.status.counts.drift").gauge().value());
+    }
+
+    @Test
+    void reconcile_ShouldFoldInEventsCommittedWhileTheQueryRuns() throws Exception {
+        counters.onTaskChanged(TaskChangedEvent.created(snapshot(9L, TaskStatus.DONE)));
+        when(taskRepository.countTasksGroupedByStatus()).thenAnswer(invocation -> {
+            // the listener must not wait for the query
+            Thread writer = new Thread(() -> counters.onTaskChanged(TaskChangedEvent.created(snapshot(10L, TaskStatus.PENDING))));
+            writer.start();
+            writer.join();
+            // the DONE create committed before the query and is already in its result
+            return List.of(new Object[]{TaskStatus.PENDING, 3L}, new Object[]{TaskStatus.DONE, 2L});
+        });
+
+        counters.reconcile();
+
+        assertEquals(Map.of("PENDING", 4L, "DONE", 2L), counters.snapshot());
+        assertEquals(0.0, registry.get("tasks.status.counts.drift").gauge().value());
+    }
+
+    private TaskSnapshot snapshot(Long id, TaskStatus status) {
+        return new TaskSnapshot(id, 1L, status, LocalDate.now().plusDays(1), Set.of(), Set.of());
+    }
+}